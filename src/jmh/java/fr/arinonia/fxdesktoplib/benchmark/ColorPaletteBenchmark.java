@@ -0,0 +1,50 @@
+package fr.arinonia.fxdesktoplib.benchmark;
+
+import fr.arinonia.fxdesktoplib.theme.ColorPalette;
+import fr.arinonia.fxdesktoplib.theme.ColorRole;
+import fr.arinonia.fxdesktoplib.theme.Themes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** Color token lookups, which components call on every restyle, and the cost of precomputing them. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorPaletteBenchmark {
+    private final ColorPalette palette = Themes.getDark();
+
+    @Benchmark
+    public String hex() {
+        return this.palette.getPrimaryHex();
+    }
+
+    @Benchmark
+    public String rgbaPrecomputedStep() {
+        return this.palette.getRgba(ColorRole.ON_SURFACE, 60);
+    }
+
+    @Benchmark
+    public String rgbaFormatted() {
+        return this.palette.getRgba(ColorRole.ON_SURFACE, 45);
+    }
+
+    @Benchmark
+    public String tint() {
+        return this.palette.getTint(ColorRole.PRIMARY, ColorPalette.Tint.HOVER);
+    }
+
+    @Benchmark
+    public ColorPalette build() {
+        return new ColorPalette.Builder()
+                .name("Benchmark")
+                .primary(149, 128, 255)
+                .background(24, 24, 37)
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package fr.arinonia.fxdesktoplib.benchmark;
+
+import fr.arinonia.fxdesktoplib.ui.UIButton;
+import fr.arinonia.fxdesktoplib.ui.UICard;
+import fr.arinonia.fxdesktoplib.ui.UICheckBox;
+import fr.arinonia.fxdesktoplib.ui.UIComboBox;
+import fr.arinonia.fxdesktoplib.ui.UIDialog;
+import fr.arinonia.fxdesktoplib.ui.UILabel;
+import fr.arinonia.fxdesktoplib.ui.UIScrollPane;
+import fr.arinonia.fxdesktoplib.ui.UITextField;
+import fr.arinonia.fxdesktoplib.ui.UIToggleButton;
+import javafx.scene.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of building each component, through its Builder where it has one. Controls are created on the FX
+ * application thread, as in an application, in batches of {@value #BATCH} per round trip so the hand-off to the
+ * FX thread does not dominate the score, which is reported per component.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComponentCreationBenchmark {
+    private static final int BATCH = 100;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        FxToolkit.start();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Node[] button() throws Exception {
+        return create(() -> new UIButton("Benchmark"));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Node[] card() throws Exception {
+        return create(() -> UICard.builder()
+                .hoverable(true)
+                .elevation(2)
+                .build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Node[] checkBox() throws Exception {
+        return create(() -> UICheckBox.builder()
+                .text("Benchmark")
+                .selected(true)
+                .build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Node[] comboBox() throws Exception {
+        return create(() -> new UIComboBox<String>());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Node[] dialog() throws Exception {
+        return create(() -> UIDialog.builder()
+                .title("Benchmark")
+                .content(new UILabel("Content"))
+                .build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Node[] label() throws Exception {
+        return create(() -> UILabel.builder()
+                .text("Benchmark")
+                .type(UILabel.TextType.TITLE)
+                .build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Node[] scrollPane() throws Exception {
+        return create(() -> UIScrollPane.builder()
+                .content(new UILabel("Content"))
+                .fitToWidth(true)
+                .build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Node[] textField() throws Exception {
+        return create(() -> UITextField.builder()
+                .placeholder("Benchmark")
+                .required("Required")
+                .build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Node[] toggleButton() throws Exception {
+        return create(() -> UIToggleButton.builder()
+                .text("Benchmark")
+                .selected(true)
+                .build());
+    }
+
+    private static Node[] create(final Supplier<Node> factory) throws Exception {
+        return FxToolkit.call(() -> {
+            final Node[] nodes = new Node[BATCH];
+            for (int i = 0; i < BATCH; i++) {
+                nodes[i] = factory.get();
+            }
+            return nodes;
+        });
+    }
+}
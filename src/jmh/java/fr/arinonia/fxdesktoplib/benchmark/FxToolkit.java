@@ -0,0 +1,49 @@
+package fr.arinonia.fxdesktoplib.benchmark;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Starts the JavaFX toolkit once per benchmark JVM. The jmh task runs it on the headless Monocle platform
+ * with the software pipeline, so the benchmarks need neither a display nor a GPU.
+ */
+final class FxToolkit {
+    private static boolean started = false;
+
+    private FxToolkit() {}
+
+    static synchronized void start() throws InterruptedException {
+        if (started) {
+            return;
+        }
+        final CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        Platform.setImplicitExit(false);
+        latch.await();
+        started = true;
+    }
+
+    static <T> T call(final Callable<T> task) throws Exception {
+        if (Platform.isFxApplicationThread()) {
+            return task.call();
+        }
+        final FutureTask<T> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            throw e.getCause() instanceof final Exception cause ? cause : e;
+        }
+    }
+
+    static void run(final Runnable task) throws Exception {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+}
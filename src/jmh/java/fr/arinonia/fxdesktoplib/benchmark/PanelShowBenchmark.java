@@ -0,0 +1,101 @@
+package fr.arinonia.fxdesktoplib.benchmark;
+
+import fr.arinonia.fxdesktoplib.core.UIConfiguration;
+import fr.arinonia.fxdesktoplib.core.UIManager;
+import fr.arinonia.fxdesktoplib.panel.IPanel;
+import fr.arinonia.fxdesktoplib.ui.UIButton;
+import fr.arinonia.fxdesktoplib.ui.UICard;
+import fr.arinonia.fxdesktoplib.ui.UILabel;
+import fr.arinonia.fxdesktoplib.ui.UITextField;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Switching between two panels of a showing stage and back, including the CSS and layout pass of the
+ * incoming panel. Each operation is one round trip to the FX application thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PanelShowBenchmark {
+    private Stage stage;
+    private UIManager uiManager;
+
+    @Setup
+    public void setUp() throws Exception {
+        FxToolkit.start();
+        FxToolkit.run(() -> {
+            this.stage = new Stage();
+            this.uiManager = new UIManager(this.stage, new UIConfiguration().setTitle("Benchmark"));
+            this.uiManager.addPanel(FormPanel.class, FormPanel::new);
+            this.uiManager.addPanel(CardsPanel.class, CardsPanel::new);
+            this.stage.show();
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        FxToolkit.run(() -> this.stage.hide());
+    }
+
+    @Benchmark
+    public void showPanelRoundTrip() throws Exception {
+        FxToolkit.run(() -> {
+            show(FormPanel.class);
+            show(CardsPanel.class);
+        });
+    }
+
+    private void show(final Class<? extends IPanel> panelClass) {
+        this.uiManager.showPanel(panelClass);
+        this.uiManager.getScene().getRoot().applyCss();
+        this.uiManager.getScene().getRoot().layout();
+    }
+
+    public static class FormPanel implements IPanel {
+        private final VBox layout = new VBox(8);
+
+        @Override
+        public Region getLayout() {
+            return this.layout;
+        }
+
+        @Override
+        public void init(final UIManager uiManager) {
+            for (int i = 0; i < 20; i++) {
+                this.layout.getChildren().addAll(new UILabel("Field " + i), new UITextField("Value " + i));
+            }
+            this.layout.getChildren().add(new UIButton("Submit"));
+        }
+    }
+
+    public static class CardsPanel implements IPanel {
+        private final VBox layout = new VBox(8);
+
+        @Override
+        public Region getLayout() {
+            return this.layout;
+        }
+
+        @Override
+        public void init(final UIManager uiManager) {
+            for (int i = 0; i < 20; i++) {
+                this.layout.getChildren().add(UICard.builder()
+                        .elevation(2)
+                        .children(new UILabel("Card " + i))
+                        .build());
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package fr.arinonia.fxdesktoplib.benchmark;
+
+import fr.arinonia.fxdesktoplib.theme.ColorPalette;
+import fr.arinonia.fxdesktoplib.theme.ThemeChangeListener;
+import fr.arinonia.fxdesktoplib.theme.ThemeManager;
+import fr.arinonia.fxdesktoplib.theme.Themes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Synchronous dispatch of a palette change to many registered listeners. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ThemeSwitchBenchmark {
+    @Param({"1000", "10000"})
+    public int listenerCount;
+
+    private final List<ThemeChangeListener> listeners = new ArrayList<>();
+    private final ColorPalette[] palettes = {Themes.getDark(), Themes.getLight()};
+    private int next;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        ThemeManager.setDispatchMode(ThemeManager.DispatchMode.IMMEDIATE);
+        for (int i = 0; i < this.listenerCount; i++) {
+            final ThemeChangeListener listener = palette -> blackhole.consume(palette.getPrimaryHex());
+            this.listeners.add(listener);
+            ThemeManager.addListener(listener);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.listeners.forEach(ThemeManager::removeListener);
+        this.listeners.clear();
+    }
+
+    @Benchmark
+    public void setCurrentPalette() {
+        ThemeManager.setCurrentPalette(this.palettes[this.next++ & 1]);
+    }
+}
@@ -0,0 +1,187 @@
+package fr.arinonia.fxdesktoplib.animation;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.Interpolator;
+import javafx.beans.value.WritableDoubleValue;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Library-wide clock for the small property animations of components (hover shadows, ripples, fades).
+ * A single {@link AnimationTimer} drives every active tween, which are kept in parallel primitive arrays; the
+ * timer only runs while at least one tween is active, so idle components cost nothing. Animating a value that
+ * is already animating retargets it from wherever it currently is, the way a restarted Timeline would.
+ * <p>
+ * Must only be used on the FX application thread.
+ */
+public final class AnimationScheduler {
+    private static final int INITIAL_CAPACITY = 32;
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private static WritableDoubleValue[] targets = new WritableDoubleValue[INITIAL_CAPACITY];
+    private static double[] from = new double[INITIAL_CAPACITY];
+    private static double[] to = new double[INITIAL_CAPACITY];
+    private static long[] startNanos = new long[INITIAL_CAPACITY];
+    private static long[] durationNanos = new long[INITIAL_CAPACITY];
+    private static Interpolator[] interpolators = new Interpolator[INITIAL_CAPACITY];
+    private static Runnable[] finishedActions = new Runnable[INITIAL_CAPACITY];
+    private static int size = 0;
+
+    private static final Map<WritableDoubleValue, Integer> INDICES = new IdentityHashMap<>();
+    private static final List<Runnable> FINISHED = new ArrayList<>();
+    private static AnimationTimer timer;
+    private static boolean running = false;
+
+    private AnimationScheduler() {}
+
+    /** Animates {@code target} linearly from its current value to {@code end}. */
+    public static void animate(final WritableDoubleValue target, final double end, final Duration duration) {
+        animate(target, Double.NaN, end, duration, Interpolator.LINEAR, null);
+    }
+
+    public static void animate(final WritableDoubleValue target, final double end, final Duration duration,
+                               final Interpolator interpolator) {
+        animate(target, Double.NaN, end, duration, interpolator, null);
+    }
+
+    public static void animate(final WritableDoubleValue target, final double start, final double end,
+                               final Duration duration, final Interpolator interpolator) {
+        animate(target, start, end, duration, interpolator, null);
+    }
+
+    /**
+     * Animates {@code target} from {@code start} (or its current value when {@code start} is NaN) to
+     * {@code end}, then runs {@code onFinished} if it is not null. A tween that is replaced or cancelled
+     * before it ends does not run its {@code onFinished} action.
+     */
+    public static void animate(final WritableDoubleValue target, final double start, final double end,
+                               final Duration duration, final Interpolator interpolator, final Runnable onFinished) {
+        if (duration.lessThanOrEqualTo(Duration.ZERO)) {
+            cancel(target);
+            target.set(end);
+            if (onFinished != null) {
+                onFinished.run();
+            }
+            return;
+        }
+
+        Integer index = INDICES.get(target);
+        if (index == null) {
+            ensureCapacity(size + 1);
+            index = size++;
+            INDICES.put(target, index);
+        }
+        targets[index] = target;
+        from[index] = start;
+        to[index] = end;
+        startNanos[index] = NOT_STARTED;
+        durationNanos[index] = (long) (duration.toMillis() * 1_000_000L);
+        interpolators[index] = interpolator;
+        finishedActions[index] = onFinished;
+
+        if (!running) {
+            running = true;
+            getTimer().start();
+        }
+    }
+
+    /** Stops animating {@code target}, leaving it at its current value. */
+    public static void cancel(final WritableDoubleValue target) {
+        final Integer index = INDICES.get(target);
+        if (index != null) {
+            remove(index);
+        }
+    }
+
+    public static boolean isAnimating(final WritableDoubleValue target) {
+        return INDICES.containsKey(target);
+    }
+
+    public static int getActiveCount() {
+        return size;
+    }
+
+    private static void tick(final long now) {
+        // Backwards, so that removing a finished tween (swapping the last one into its slot) skips nothing.
+        for (int i = size - 1; i >= 0; i--) {
+            if (startNanos[i] == NOT_STARTED) {
+                startNanos[i] = now;
+                if (Double.isNaN(from[i])) {
+                    from[i] = targets[i].get();
+                }
+            }
+
+            final WritableDoubleValue target = targets[i];
+            final double fraction = Math.min(1.0, (double) (now - startNanos[i]) / durationNanos[i]);
+            target.set(interpolators[i].interpolate(from[i], to[i], fraction));
+            // a listener of the target may have cancelled or restarted this tween
+            final boolean unchanged = i < size && targets[i] == target && startNanos[i] != NOT_STARTED;
+            if (fraction >= 1.0 && unchanged) {
+                if (finishedActions[i] != null) {
+                    FINISHED.add(finishedActions[i]);
+                }
+                remove(i);
+            }
+        }
+
+        // Finished actions may start new tweens, so they run once the arrays are consistent again.
+        for (final Runnable action : FINISHED) {
+            action.run();
+        }
+        FINISHED.clear();
+
+        if (size == 0) {
+            running = false;
+            getTimer().stop();
+        }
+    }
+
+    private static void remove(final int index) {
+        INDICES.remove(targets[index]);
+        final int last = --size;
+        if (index != last) {
+            targets[index] = targets[last];
+            from[index] = from[last];
+            to[index] = to[last];
+            startNanos[index] = startNanos[last];
+            durationNanos[index] = durationNanos[last];
+            interpolators[index] = interpolators[last];
+            finishedActions[index] = finishedActions[last];
+            INDICES.put(targets[index], index);
+        }
+        targets[last] = null;
+        interpolators[last] = null;
+        finishedActions[last] = null;
+    }
+
+    private static void ensureCapacity(final int capacity) {
+        if (capacity <= targets.length) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, targets.length * 2);
+        targets = Arrays.copyOf(targets, newCapacity);
+        from = Arrays.copyOf(from, newCapacity);
+        to = Arrays.copyOf(to, newCapacity);
+        startNanos = Arrays.copyOf(startNanos, newCapacity);
+        durationNanos = Arrays.copyOf(durationNanos, newCapacity);
+        interpolators = Arrays.copyOf(interpolators, newCapacity);
+        finishedActions = Arrays.copyOf(finishedActions, newCapacity);
+    }
+
+    private static AnimationTimer getTimer() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(final long now) {
+                    tick(now);
+                }
+            };
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,57 @@
+package fr.arinonia.fxdesktoplib.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-resolution histogram of durations, recorded without locks so it can be read from any thread while
+ * the FX thread keeps writing. Values are bucketed in 0.1 ms steps up to 500 ms; longer ones share the last
+ * bucket.
+ */
+class FrameHistogram {
+    private static final long BUCKET_NANOS = 100_000L;
+    private static final int BUCKET_COUNT = 5_001;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    void record(final long nanos) {
+        final int bucket = (int) Math.min(Math.max(nanos, 0L) / BUCKET_NANOS, BUCKET_COUNT - 1);
+        this.buckets.incrementAndGet(bucket);
+    }
+
+    /** @return the duration in milliseconds below which {@code percentile} percent of the values fall */
+    double getPercentile(final double percentile) {
+        final long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = this.buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (i + 1) * BUCKET_NANOS / 1_000_000.0;
+            }
+        }
+        return BUCKET_COUNT * BUCKET_NANOS / 1_000_000.0;
+    }
+
+    long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += this.buckets.get(i);
+        }
+        return total;
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.buckets.set(i, 0);
+        }
+    }
+}
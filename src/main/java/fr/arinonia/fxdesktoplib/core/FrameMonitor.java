@@ -0,0 +1,197 @@
+package fr.arinonia.fxdesktoplib.core;
+
+import fr.arinonia.fxdesktoplib.panel.IPanel;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.stage.Popup;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in jank monitor for a {@link UIManager}. An {@link AnimationTimer} records the interval between frames
+ * and scene pulse listeners record how long each pulse spends in CSS and layout. Frames that take longer than
+ * the target frame time count as dropped frames, and frames longer than the stall threshold as stalls; both
+ * are attributed to the panel that was showing. Statistics can be read from any thread.
+ */
+public class FrameMonitor {
+    private static final long DEFAULT_FRAME_NANOS = 1_000_000_000L / 60;
+    private static final long DEFAULT_STALL_NANOS = 100_000_000L;
+    private static final long OVERLAY_REFRESH_NANOS = 500_000_000L;
+
+    private final UIManager uiManager;
+    private final FrameHistogram frameTimes = new FrameHistogram();
+    private final FrameHistogram pulseTimes = new FrameHistogram();
+    private final LongAdder droppedFrames = new LongAdder();
+    private final LongAdder stalls = new LongAdder();
+    private final Map<String, LongAdder> droppedByPanel = new ConcurrentHashMap<>();
+    private final Runnable prePulse = this::onPrePulse;
+    private final Runnable postPulse = this::onPostPulse;
+    private volatile long frameNanos = DEFAULT_FRAME_NANOS;
+    private volatile long stallNanos = DEFAULT_STALL_NANOS;
+
+    // FX application thread only
+    private final AnimationTimer timer;
+    private Scene scene;
+    private long lastFrame;
+    private long pulseStart;
+    private long lastOverlayRefresh;
+    private Popup overlay;
+    private Label overlayLabel;
+
+    FrameMonitor(final UIManager uiManager) {
+        this.uiManager = uiManager;
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(final long now) {
+                onFrame(now);
+            }
+        };
+    }
+
+    public void start() {
+        if (this.scene != null) {
+            return;
+        }
+        this.scene = this.uiManager.getScene();
+        this.scene.addPreLayoutPulseListener(this.prePulse);
+        this.scene.addPostLayoutPulseListener(this.postPulse);
+        this.lastFrame = 0;
+        this.timer.start();
+    }
+
+    public void stop() {
+        if (this.scene == null) {
+            return;
+        }
+        this.timer.stop();
+        this.scene.removePreLayoutPulseListener(this.prePulse);
+        this.scene.removePostLayoutPulseListener(this.postPulse);
+        this.scene = null;
+        setOverlayVisible(false);
+    }
+
+    public boolean isRunning() {
+        return this.scene != null;
+    }
+
+    public void setTargetFrameRate(final double framesPerSecond) {
+        this.frameNanos = (long) (1_000_000_000L / framesPerSecond);
+    }
+
+    /** Frames longer than {@code millis} are counted as stalls (100 ms by default). */
+    public void setStallThreshold(final double millis) {
+        this.stallNanos = (long) (millis * 1_000_000L);
+    }
+
+    /** @return the frame interval, in milliseconds, at the given percentile (for example 50, 95 or 99) */
+    public double getFrameTime(final double percentile) {
+        return this.frameTimes.getPercentile(percentile);
+    }
+
+    /** @return the time, in milliseconds, the scene pulse spent in CSS and layout at the given percentile */
+    public double getPulseTime(final double percentile) {
+        return this.pulseTimes.getPercentile(percentile);
+    }
+
+    public long getFrameCount() {
+        return this.frameTimes.getCount();
+    }
+
+    public long getDroppedFrames() {
+        return this.droppedFrames.sum();
+    }
+
+    public long getStallCount() {
+        return this.stalls.sum();
+    }
+
+    /** @return dropped frames per panel class name, sorted by name */
+    public Map<String, Long> getDroppedFramesByPanel() {
+        final Map<String, Long> result = new TreeMap<>();
+        this.droppedByPanel.forEach((panel, count) -> result.put(panel, count.sum()));
+        return result;
+    }
+
+    public void reset() {
+        this.frameTimes.reset();
+        this.pulseTimes.reset();
+        this.droppedFrames.reset();
+        this.stalls.reset();
+        this.droppedByPanel.clear();
+    }
+
+    /** Shows the current percentiles and counters in a small popup at the top-left corner of the window. */
+    public void setOverlayVisible(final boolean visible) {
+        if (!visible) {
+            if (this.overlay != null) {
+                this.overlay.hide();
+            }
+            return;
+        }
+
+        if (this.overlay == null) {
+            this.overlayLabel = new Label();
+            this.overlayLabel.setStyle("-fx-background-color: rgba(0, 0, 0, 0.7); -fx-text-fill: white; "
+                    + "-fx-font-family: monospace; -fx-padding: 4 8;");
+            this.overlayLabel.setMouseTransparent(true);
+            this.overlay = new Popup();
+            this.overlay.getContent().add(this.overlayLabel);
+        }
+        refreshOverlay();
+        final Scene target = this.uiManager.getScene();
+        if (target.getWindow() != null && target.getWindow().isShowing()) {
+            this.overlay.show(target.getWindow(), target.getWindow().getX() + target.getX() + 8,
+                    target.getWindow().getY() + target.getY() + 8);
+        }
+    }
+
+    private void onFrame(final long now) {
+        if (this.lastFrame != 0) {
+            final long interval = now - this.lastFrame;
+            this.frameTimes.record(interval);
+
+            final long dropped = interval / this.frameNanos - 1;
+            if (dropped > 0) {
+                this.droppedFrames.add(dropped);
+                this.droppedByPanel.computeIfAbsent(getPanelName(), key -> new LongAdder()).add(dropped);
+            }
+            if (interval >= this.stallNanos) {
+                this.stalls.increment();
+            }
+        }
+        this.lastFrame = now;
+
+        if (this.overlay != null && this.overlay.isShowing() && now - this.lastOverlayRefresh >= OVERLAY_REFRESH_NANOS) {
+            this.lastOverlayRefresh = now;
+            refreshOverlay();
+        }
+    }
+
+    private void onPrePulse() {
+        this.pulseStart = System.nanoTime();
+    }
+
+    private void onPostPulse() {
+        if (this.pulseStart != 0) {
+            this.pulseTimes.record(System.nanoTime() - this.pulseStart);
+            this.pulseStart = 0;
+        }
+    }
+
+    private void refreshOverlay() {
+        this.overlayLabel.setText(String.format(Locale.ROOT,
+                "frame p50 %.1f  p95 %.1f  p99 %.1f ms%npulse p99 %.1f ms  dropped %d  stalls %d",
+                getFrameTime(50), getFrameTime(95), getFrameTime(99),
+                getPulseTime(99), getDroppedFrames(), getStallCount()));
+    }
+
+    private String getPanelName() {
+        final IPanel panel = this.uiManager.getCurrentPanel();
+        return panel != null ? panel.getClass().getSimpleName() : "(none)";
+    }
+}
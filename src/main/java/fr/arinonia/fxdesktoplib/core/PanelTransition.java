@@ -0,0 +1,40 @@
+package fr.arinonia.fxdesktoplib.core;
+
+import javafx.animation.Interpolator;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.scene.Node;
+import javafx.util.Duration;
+
+/**
+ * How {@link UIManager#showPanel} switches panels. Animated transitions run between a snapshot image of the
+ * outgoing panel, whose node graph is already detached from the scene, and the live incoming panel.
+ */
+public enum PanelTransition {
+    NONE,
+    CROSSFADE,
+    SLIDE_LEFT,
+    SLIDE_RIGHT;
+
+    Timeline createAnimation(final Node outgoing, final Node incoming, final double width, final Duration duration) {
+        final double direction = this == SLIDE_RIGHT ? -1 : 1;
+        return switch (this) {
+            case CROSSFADE -> new Timeline(
+                    new KeyFrame(Duration.ZERO, new KeyValue(outgoing.opacityProperty(), 1, Interpolator.EASE_BOTH)),
+                    new KeyFrame(duration, new KeyValue(outgoing.opacityProperty(), 0, Interpolator.EASE_BOTH))
+            );
+            case SLIDE_LEFT, SLIDE_RIGHT -> new Timeline(
+                    new KeyFrame(Duration.ZERO,
+                            new KeyValue(outgoing.translateXProperty(), 0, Interpolator.EASE_BOTH),
+                            new KeyValue(incoming.translateXProperty(), direction * width, Interpolator.EASE_BOTH)
+                    ),
+                    new KeyFrame(duration,
+                            new KeyValue(outgoing.translateXProperty(), -direction * width, Interpolator.EASE_BOTH),
+                            new KeyValue(incoming.translateXProperty(), 0, Interpolator.EASE_BOTH)
+                    )
+            );
+            case NONE -> new Timeline();
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package fr.arinonia.fxdesktoplib.core;
+
+import fr.arinonia.fxdesktoplib.panel.IPanel;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Detects a blocked FX application thread. A daemon thread posts a heartbeat with {@link Platform#runLater}
+ * and checks that it ran; when a heartbeat is late by more than the threshold, the FX thread's stack is
+ * captured once and reported with the panel that was showing. While the FX thread is responsive the cost is
+ * one {@code runLater} per check interval.
+ */
+public class StallWatchdog {
+    private static final long DEFAULT_THRESHOLD_NANOS = 1_000_000_000L;
+
+    private final UIManager uiManager;
+    private volatile long thresholdNanos = DEFAULT_THRESHOLD_NANOS;
+    private volatile StallListener listener = StallWatchdog::print;
+    private volatile Thread fxThread;
+    private volatile long heartbeatPosted;
+    private volatile boolean heartbeatPending;
+    private Thread thread;
+
+    StallWatchdog(final UIManager uiManager) {
+        this.uiManager = uiManager;
+    }
+
+    public synchronized void start() {
+        if (this.thread != null) {
+            return;
+        }
+        if (Platform.isFxApplicationThread()) {
+            this.fxThread = Thread.currentThread();
+        }
+        this.thread = new Thread(this::run, "fxdesktoplib-stall-watchdog");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public synchronized void stop() {
+        if (this.thread != null) {
+            this.thread.interrupt();
+            this.thread = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return this.thread != null;
+    }
+
+    /** How late a heartbeat may be before the FX thread is reported as stalled (one second by default). */
+    public void setThreshold(final Duration threshold) {
+        this.thresholdNanos = (long) (threshold.toMillis() * 1_000_000L);
+    }
+
+    /** Replaces the default reporter, which prints the stall and the FX thread's stack to {@code System.err}. */
+    public void setListener(final StallListener listener) {
+        this.listener = listener;
+    }
+
+    private void run() {
+        boolean reported = false;
+        try {
+            resolveFxThread();
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!this.heartbeatPending) {
+                    reported = false;
+                    this.heartbeatPending = true;
+                    this.heartbeatPosted = System.nanoTime();
+                    Platform.runLater(this::heartbeat);
+                }
+                Thread.sleep(Math.max(1L, this.thresholdNanos / 2_000_000L));
+
+                final long late = System.nanoTime() - this.heartbeatPosted;
+                if (this.heartbeatPending && !reported && late >= this.thresholdNanos) {
+                    reported = true;
+                    this.listener.onStall(getPanelName(), late / 1_000_000L, this.fxThread.getStackTrace());
+                }
+            }
+        } catch (final InterruptedException ignored) {
+        }
+    }
+
+    /** Started off the FX thread: waits for it to run once, since a stall can only be reported with its stack. */
+    private void resolveFxThread() throws InterruptedException {
+        if (this.fxThread == null) {
+            final CountDownLatch resolved = new CountDownLatch(1);
+            Platform.runLater(() -> {
+                this.fxThread = Thread.currentThread();
+                resolved.countDown();
+            });
+            resolved.await();
+        }
+    }
+
+    private void heartbeat() {
+        this.heartbeatPending = false;
+    }
+
+    private String getPanelName() {
+        final IPanel panel = this.uiManager.getCurrentPanel();
+        return panel != null ? panel.getClass().getSimpleName() : "(none)";
+    }
+
+    private static void print(final String panelName, final long stalledMillis, final StackTraceElement[] stackTrace) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format("FX application thread stalled for %d ms (panel: %s)%n", stalledMillis, panelName));
+        for (final StackTraceElement element : stackTrace) {
+            builder.append("\tat ").append(element).append(System.lineSeparator());
+        }
+        System.err.print(builder);
+    }
+
+    @FunctionalInterface
+    public interface StallListener {
+        /** Called on the watchdog thread, once per stall, while the FX thread is still blocked. */
+        void onStall(final String panelName, final long stalledMillis, final StackTraceElement[] stackTrace);
+    }
+}
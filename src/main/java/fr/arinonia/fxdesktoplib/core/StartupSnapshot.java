@@ -0,0 +1,65 @@
+package fr.arinonia.fxdesktoplib.core;
+
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.StackPane;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Shows the last panel of the previous session as a static image until the first live panel is ready.
+ * See {@link UIConfiguration#setStartupSnapshot(Path)}.
+ */
+class StartupSnapshot {
+    private StartupSnapshot() {}
+
+    /**
+     * Returns a root showing the saved snapshot, or {@code null} if there is none. The image is decoded by
+     * JavaFX's background loader while the stage is being set up; the root stays empty until it is ready.
+     */
+    static Parent createPlaceholder(final Path file) {
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+        final ImageView view = new ImageView(new Image(file.toUri().toString(), true));
+        final StackPane placeholder = new StackPane(view);
+        placeholder.setAlignment(Pos.TOP_LEFT);
+        return placeholder;
+    }
+
+    /**
+     * Captures the scene on the FX thread and encodes it to PNG on a separate, non-daemon thread, so the
+     * window closes without waiting for the encoder while the JVM still finishes writing the file.
+     */
+    static void save(final Scene scene, final Path file) {
+        final WritableImage image = scene.snapshot(null);
+        final int width = (int) image.getWidth();
+        final int height = (int) image.getHeight();
+        final int[] pixels = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+
+        final Thread writer = new Thread(() -> {
+            final BufferedImage buffered = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            buffered.setRGB(0, 0, width, height, pixels, 0, width);
+            try {
+                final Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                ImageIO.write(buffered, "png", file.toFile());
+            } catch (final IOException e) {
+                System.err.printf("Failed to save startup snapshot %s: %s%n", file, e.getMessage());
+            }
+        }, "fxdesktoplib-snapshot-writer");
+        writer.start();
+    }
+}
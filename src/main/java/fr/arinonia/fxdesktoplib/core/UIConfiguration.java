@@ -1,11 +1,21 @@
 package fr.arinonia.fxdesktoplib.core;
 
+import javafx.util.Duration;
+
+import java.nio.file.Path;
+
 public class UIConfiguration {
     private String title = "Application";
     private double minWidth = 800.0D;
     private double minHeight = 600.0D;
     private double width = 1280.0D;
     private double height = 720.0D;
+    private int panelCacheSize = Integer.MAX_VALUE;
+    private PanelTransition panelTransition = PanelTransition.NONE;
+    private Duration panelTransitionDuration = Duration.millis(250);
+    private Path startupSnapshot;
+    private boolean frameMonitorEnabled = false;
+    private boolean stallWatchdogEnabled = false;
 
     public UIConfiguration() {}
 
@@ -34,6 +44,47 @@ public class UIConfiguration {
         return this;
     }
 
+    /**
+     * Number of most recently shown panels kept alive by {@link UIManager}. Older panels receive
+     * {@link fr.arinonia.fxdesktoplib.panel.IPanel#onEvict()} and may be garbage-collected under memory pressure.
+     */
+    public UIConfiguration setPanelCacheSize(final int panelCacheSize) {
+        this.panelCacheSize = Math.max(1, panelCacheSize);
+        return this;
+    }
+
+    public UIConfiguration setPanelTransition(final PanelTransition panelTransition) {
+        this.panelTransition = panelTransition;
+        return this;
+    }
+
+    public UIConfiguration setPanelTransitionDuration(final Duration panelTransitionDuration) {
+        this.panelTransitionDuration = panelTransitionDuration;
+        return this;
+    }
+
+    /**
+     * Saves a PNG of the panel shown when the window closes to {@code file}, and shows that image as soon as
+     * the next session's {@link UIManager} is created, until the first panel is shown. {@code null} (the
+     * default) disables it.
+     */
+    public UIConfiguration setStartupSnapshot(final Path file) {
+        this.startupSnapshot = file;
+        return this;
+    }
+
+    /** Starts {@link UIManager#getFrameMonitor()} as soon as the manager is created. */
+    public UIConfiguration setFrameMonitorEnabled(final boolean frameMonitorEnabled) {
+        this.frameMonitorEnabled = frameMonitorEnabled;
+        return this;
+    }
+
+    /** Starts {@link UIManager#getStallWatchdog()} as soon as the manager is created. */
+    public UIConfiguration setStallWatchdogEnabled(final boolean stallWatchdogEnabled) {
+        this.stallWatchdogEnabled = stallWatchdogEnabled;
+        return this;
+    }
+
     public String getTitle() {
         return this.title;
     }
@@ -53,4 +104,28 @@ public class UIConfiguration {
     public double getHeight() {
         return this.height;
     }
+
+    public int getPanelCacheSize() {
+        return this.panelCacheSize;
+    }
+
+    public PanelTransition getPanelTransition() {
+        return this.panelTransition;
+    }
+
+    public Duration getPanelTransitionDuration() {
+        return this.panelTransitionDuration;
+    }
+
+    public Path getStartupSnapshot() {
+        return this.startupSnapshot;
+    }
+
+    public boolean isFrameMonitorEnabled() {
+        return this.frameMonitorEnabled;
+    }
+
+    public boolean isStallWatchdogEnabled() {
+        return this.stallWatchdogEnabled;
+    }
 }
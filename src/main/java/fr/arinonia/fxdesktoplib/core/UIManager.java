@@ -1,28 +1,75 @@
 package fr.arinonia.fxdesktoplib.core;
 
+import fr.arinonia.fxdesktoplib.jfr.AnimationStartEvent;
+import fr.arinonia.fxdesktoplib.jfr.PanelHideEvent;
+import fr.arinonia.fxdesktoplib.jfr.PanelShowEvent;
 import fr.arinonia.fxdesktoplib.panel.IPanel;
 import fr.arinonia.fxdesktoplib.theme.ColorPalette;
 import fr.arinonia.fxdesktoplib.theme.ThemeManager;
+import fr.arinonia.fxdesktoplib.theme.ThemeStylesheet;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 
+import java.lang.ref.SoftReference;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 
 public class UIManager {
     private final Stage primaryStage;
+    private final UIConfiguration config;
     private final Scene scene;
-    private IPanel currentPanel;
+    // never replaced: panels are swapped in and out of it, so a shown panel is not re-parented afterwards
+    private final StackPane root;
+    private volatile IPanel currentPanel;
+    private final int panelCacheSize;
     private final Map<Class<? extends IPanel>, IPanel> panels;
+    private final Map<Class<? extends IPanel>, SoftReference<IPanel>> evictedPanels;
+    private final Map<Class<? extends IPanel>, Supplier<? extends IPanel>> panelFactories;
+    private final Map<Class<? extends IPanel>, CompletableFuture<IPanel>> preloads;
+    private ExecutorService preloadExecutor;
+    private Class<? extends IPanel> pendingPanel;
+    private Timeline panelTransition;
+    private FrameMonitor frameMonitor;
+    private StallWatchdog stallWatchdog;
 
     public UIManager(final Stage primaryStage, final UIConfiguration config) {
         this.primaryStage = primaryStage;
-        this.panels = new HashMap<>();
+        this.config = config;
+        this.panelCacheSize = config.getPanelCacheSize();
+        // access order: iteration starts with the least recently shown panel
+        this.panels = new LinkedHashMap<>(16, 0.75f, true);
+        this.evictedPanels = new HashMap<>();
+        this.panelFactories = new HashMap<>();
+        this.preloads = new HashMap<>();
 
-        this.scene = new Scene(new Region());
+        final Parent placeholder = config.getStartupSnapshot() != null
+                ? StartupSnapshot.createPlaceholder(config.getStartupSnapshot())
+                : null;
+        this.root = new StackPane();
+        this.root.setAlignment(Pos.TOP_LEFT);
+        if (placeholder != null) {
+            this.root.getChildren().add(placeholder);
+        }
+        this.scene = new Scene(this.root);
         this.scene.setFill(ThemeManager.getCurrentPalette().getBackground());
+        ThemeStylesheet.install(this.scene);
 
         this.primaryStage.setTitle(config.getTitle());
         this.primaryStage.setMinWidth(config.getMinWidth());
@@ -30,33 +77,221 @@ public class UIManager {
         this.primaryStage.setWidth(config.getWidth());
         this.primaryStage.setHeight(config.getHeight());
         this.primaryStage.setScene(this.scene);
+        if (config.getStartupSnapshot() != null) {
+            this.primaryStage.addEventHandler(WindowEvent.WINDOW_HIDING, e -> saveStartupSnapshot());
+        }
 
         ThemeManager.addListener(this::handleThemeChange);
+        if (config.isFrameMonitorEnabled()) {
+            getFrameMonitor().start();
+        }
+        if (config.isStallWatchdogEnabled()) {
+            getStallWatchdog().start();
+        }
     }
 
     public void addPanel(final IPanel panel) {
         this.panels.put(panel.getClass(), panel);
+        // eagerly added panels cannot be rebuilt, so the factory keeps an evicted instance reachable
+        this.panelFactories.put(panel.getClass(), () -> panel);
         panel.init(this);
         //LOGGER.info("Panel added: {}", panel.getClass().getSimpleName());
     }
 
+    /**
+     * Registers a panel without building it. The supplier is called, and the panel initialized, the first
+     * time the panel is shown or {@link #preloadPanel(Class) preloaded}.
+     */
+    public <T extends IPanel> void addPanel(final Class<T> panelClass, final Supplier<T> factory) {
+        this.panelFactories.put(panelClass, factory);
+    }
+
+    /**
+     * Builds a lazily registered panel on a background thread so that showing it later does not stall the
+     * FX thread. The supplier and {@link IPanel#init(UIManager)} run off the FX thread, which is allowed as
+     * long as they only create nodes and do not touch a showing scene; the finished panel is handed back
+     * to the FX thread and attached when it is shown. Theme changes during the build do not reach its
+     * components: they restyle once with the current palette when the panel is first attached. Showing the panel while it is still being built does
+     * not wait for it: the panel is shown once the preload finishes, unless another panel was shown in the
+     * meantime. Must be called on the FX application thread.
+     */
+    public CompletableFuture<Void> preloadPanel(final Class<? extends IPanel> panelClass) {
+        final Supplier<? extends IPanel> factory = this.panelFactories.get(panelClass);
+        final SoftReference<IPanel> evicted = this.evictedPanels.get(panelClass);
+        if (this.panels.containsKey(panelClass) || (evicted != null && evicted.get() != null) || factory == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return this.preloads.computeIfAbsent(panelClass, key -> {
+            final CompletableFuture<IPanel> future = CompletableFuture.supplyAsync(() -> createPanel(factory), getPreloadExecutor());
+            future.whenCompleteAsync((panel, error) -> {
+                if (this.preloads.remove(key, future) && panel != null) {
+                    this.panels.put(key, panel);
+                }
+            }, Platform::runLater);
+            return future;
+        }).thenAccept(panel -> {});
+    }
+
     public void showPanel(final Class<? extends IPanel> panelClass) {
-        final IPanel panel = this.panels.get(panelClass);
+        showPanel(panelClass, this.config.getPanelTransition());
+    }
+
+    public void showPanel(final Class<? extends IPanel> panelClass, final PanelTransition transition) {
+        final CompletableFuture<IPanel> preload = this.preloads.get(panelClass);
+        if (preload != null && !preload.isDone()) {
+            this.pendingPanel = panelClass;
+            preload.whenCompleteAsync((panel, error) -> {
+                if (this.pendingPanel == panelClass) {
+                    showPanel(panelClass, transition);
+                }
+            }, Platform::runLater);
+            return;
+        }
+        this.pendingPanel = null;
+
+        final PanelShowEvent showEvent = new PanelShowEvent();
+        showEvent.begin();
+        final long resolveStart = System.nanoTime();
+        final boolean built = this.panels.containsKey(panelClass);
+        final IPanel panel = resolvePanel(panelClass);
         if (panel == null) {
             System.err.printf("Panel not found: %s%n", panelClass.getSimpleName());
             return;
         }
+        final long initDuration = built ? 0L : System.nanoTime() - resolveStart;
 
         if (this.currentPanel != null) {
+            final PanelHideEvent hideEvent = new PanelHideEvent();
+            hideEvent.begin();
             this.currentPanel.onHide();
+            if (hideEvent.shouldCommit()) {
+                hideEvent.panel = this.currentPanel.getClass();
+                hideEvent.commit();
+            }
         }
 
-        this.scene.setRoot(panel.getLayout());
+        setContent(panel.getLayout(), transition);
         this.currentPanel = panel;
         panel.onShow();
+        evictPanels();
+        if (showEvent.shouldCommit()) {
+            showEvent.panel = panelClass;
+            showEvent.initDuration = initDuration;
+            showEvent.commit();
+        }
         //LOGGER.info("Showing panel: {}", panelClass.getSimpleName());
     }
 
+    /**
+     * Swaps the content of the scene root. For animated transitions the outgoing panel is captured with one
+     * scene snapshot and detached immediately, so only an image and the incoming panel are laid out while it
+     * runs; when it ends only the image is removed, and the panel stays where its styles were computed.
+     */
+    private void setContent(final Region layout, final PanelTransition transition) {
+        finishPanelTransition();
+        final ObservableList<Node> children = this.root.getChildren();
+        if (children.size() == 1 && children.get(0) == layout) {
+            return;
+        }
+        if (transition == PanelTransition.NONE || this.scene.getWindow() == null
+                || !this.scene.getWindow().isShowing()) {
+            children.setAll(layout);
+            return;
+        }
+
+        final ImageView snapshot = new ImageView(this.scene.snapshot(null));
+        children.setAll(layout, snapshot);
+
+        this.panelTransition = transition.createAnimation(snapshot, layout, this.scene.getWidth(),
+                this.config.getPanelTransitionDuration());
+        this.panelTransition.setOnFinished(e -> {
+            this.panelTransition = null;
+            children.remove(snapshot);
+            layout.setTranslateX(0);
+        });
+        this.panelTransition.play();
+        AnimationStartEvent.emit(this, this.panelTransition);
+    }
+
+    private void finishPanelTransition() {
+        if (this.panelTransition != null) {
+            final Timeline running = this.panelTransition;
+            running.stop();
+            running.getOnFinished().handle(null);
+        }
+    }
+
+    private void saveStartupSnapshot() {
+        finishPanelTransition();
+        if (this.currentPanel != null && this.root.getChildren().contains(this.currentPanel.getLayout())) {
+            StartupSnapshot.save(this.scene, this.config.getStartupSnapshot());
+        }
+    }
+
+    private IPanel resolvePanel(final Class<? extends IPanel> panelClass) {
+        IPanel panel = this.panels.get(panelClass);
+        if (panel != null) {
+            return panel;
+        }
+
+        final SoftReference<IPanel> evicted = this.evictedPanels.remove(panelClass);
+        final CompletableFuture<IPanel> preload = this.preloads.remove(panelClass);
+        // showPanel only gets here once a preload is done; a failed one falls back to the factory
+        final IPanel preloaded = preload != null && !preload.isCompletedExceptionally() ? preload.getNow(null) : null;
+        if (evicted != null && evicted.get() != null) {
+            panel = evicted.get();
+            panel.onRestore();
+        } else if (preloaded != null) {
+            panel = preloaded;
+        } else {
+            final Supplier<? extends IPanel> factory = this.panelFactories.get(panelClass);
+            if (factory == null) {
+                return null;
+            }
+            panel = createPanel(factory);
+        }
+        this.panels.put(panelClass, panel);
+        return panel;
+    }
+
+    /**
+     * Keeps the {@link UIConfiguration#getPanelCacheSize() configured number} of most recently shown panels;
+     * older ones are told to release their layout and are only softly reachable until shown again.
+     */
+    private void evictPanels() {
+        final Iterator<Map.Entry<Class<? extends IPanel>, IPanel>> iterator = this.panels.entrySet().iterator();
+        int excess = this.panels.size() - this.panelCacheSize;
+        while (excess > 0 && iterator.hasNext()) {
+            final Map.Entry<Class<? extends IPanel>, IPanel> entry = iterator.next();
+            final IPanel panel = entry.getValue();
+            if (panel == this.currentPanel) {
+                continue;
+            }
+            iterator.remove();
+            panel.onEvict();
+            this.evictedPanels.put(entry.getKey(), new SoftReference<>(panel));
+            excess--;
+        }
+    }
+
+    private IPanel createPanel(final Supplier<? extends IPanel> factory) {
+        final IPanel panel = factory.get();
+        panel.init(this);
+        return panel;
+    }
+
+    private ExecutorService getPreloadExecutor() {
+        if (this.preloadExecutor == null) {
+            this.preloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "fxdesktoplib-panel-preload");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.preloadExecutor;
+    }
+
     private void handleThemeChange(final ColorPalette newPalette) {
         this.scene.setFill(newPalette.getBackground());
     }
@@ -72,4 +307,20 @@ public class UIManager {
     public IPanel getCurrentPanel() {
         return this.currentPanel;
     }
+
+    /** @return the frame-time monitor of this window; it only records once {@link FrameMonitor#start()} is called */
+    public FrameMonitor getFrameMonitor() {
+        if (this.frameMonitor == null) {
+            this.frameMonitor = new FrameMonitor(this);
+        }
+        return this.frameMonitor;
+    }
+
+    /** @return the FX thread watchdog of this window; it only runs once {@link StallWatchdog#start()} is called */
+    public synchronized StallWatchdog getStallWatchdog() {
+        if (this.stallWatchdog == null) {
+            this.stallWatchdog = new StallWatchdog(this);
+        }
+        return this.stallWatchdog;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package fr.arinonia.fxdesktoplib.jfr;
+
+import javafx.animation.Animation;
+import javafx.util.Duration;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/** Instant event emitted when a component starts one of its animations. */
+@Name("fr.arinonia.fxdesktoplib.AnimationStart")
+@Label("Animation Start")
+@Category({"FxDesktopLib", "Animation"})
+@Description("A component started an animation")
+@Enabled(false)
+public class AnimationStartEvent extends Event {
+    @Label("Component")
+    public Class<?> component;
+
+    @Label("Animation Duration")
+    @Timespan(Timespan.MILLISECONDS)
+    public long animationDuration;
+
+    public static void emit(final Object component, final Animation animation) {
+        emit(component, animation.getTotalDuration());
+    }
+
+    public static void emit(final Object component, final Duration duration) {
+        final AnimationStartEvent event = new AnimationStartEvent();
+        if (event.shouldCommit()) {
+            event.component = component.getClass();
+            event.animationDuration = (long) duration.toMillis();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package fr.arinonia.fxdesktoplib.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Spans the {@code onHide} callback of the panel that {@code UIManager.showPanel} replaces. */
+@Name("fr.arinonia.fxdesktoplib.PanelHide")
+@Label("Panel Hide")
+@Category({"FxDesktopLib", "Panel"})
+@Description("A panel was hidden by UIManager")
+@Enabled(false)
+public class PanelHideEvent extends Event {
+    @Label("Panel")
+    public Class<?> panel;
+}
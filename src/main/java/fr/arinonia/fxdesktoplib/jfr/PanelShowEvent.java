@@ -0,0 +1,25 @@
+package fr.arinonia.fxdesktoplib.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/** Spans {@code UIManager.showPanel}, including building the panel if it had not been created yet. */
+@Name("fr.arinonia.fxdesktoplib.PanelShow")
+@Label("Panel Show")
+@Category({"FxDesktopLib", "Panel"})
+@Description("A panel was shown by UIManager")
+@Enabled(false)
+public class PanelShowEvent extends Event {
+    @Label("Panel")
+    public Class<?> panel;
+
+    @Label("Init Duration")
+    @Description("Time spent creating and initializing the panel, zero if it was already built")
+    @Timespan(Timespan.NANOSECONDS)
+    public long initDuration;
+}
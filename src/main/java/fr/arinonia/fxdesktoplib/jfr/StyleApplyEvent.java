@@ -0,0 +1,81 @@
+package fr.arinonia.fxdesktoplib.jfr;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of times components of one type re-applied their style during a pulse. Style applications are
+ * counted with {@link #record(Object)}, from any thread since theme dispatch and panel preloading can run off
+ * the FX thread, and one event per component type is committed at the start of the next pulse.
+ */
+@Name("fr.arinonia.fxdesktoplib.StyleApply")
+@Label("Style Apply")
+@Category({"FxDesktopLib", "Theme"})
+@Description("Style applications per component type during one pulse")
+@Enabled(false)
+public class StyleApplyEvent extends Event {
+    private static final StyleApplyEvent PROBE = new StyleApplyEvent();
+    private static final Map<Class<?>, LongAdder> COUNTS = new ConcurrentHashMap<>();
+    private static final AtomicBoolean FLUSH_SCHEDULED = new AtomicBoolean();
+    // FX application thread only
+    private static AnimationTimer flushTimer;
+
+    @Label("Component Type")
+    public Class<?> componentType;
+
+    @Label("Count")
+    public int count;
+
+    public static void record(final Object component) {
+        if (!PROBE.isEnabled()) {
+            return;
+        }
+        COUNTS.computeIfAbsent(component.getClass(), key -> new LongAdder()).increment();
+        if (FLUSH_SCHEDULED.compareAndSet(false, true)) {
+            if (Platform.isFxApplicationThread()) {
+                getFlushTimer().start();
+            } else {
+                Platform.runLater(() -> getFlushTimer().start());
+            }
+        }
+    }
+
+    private static AnimationTimer getFlushTimer() {
+        if (flushTimer == null) {
+            flushTimer = new AnimationTimer() {
+                @Override
+                public void handle(final long now) {
+                    stop();
+                    // cleared first, so a count recorded during the flush schedules the next one
+                    FLUSH_SCHEDULED.set(false);
+                    flush();
+                }
+            };
+        }
+        return flushTimer;
+    }
+
+    private static void flush() {
+        // the counters are reset rather than removed, so an increment racing with the flush is never lost
+        for (final Map.Entry<Class<?>, LongAdder> entry : COUNTS.entrySet()) {
+            final long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                final StyleApplyEvent event = new StyleApplyEvent();
+                event.componentType = entry.getKey();
+                event.count = (int) count;
+                event.commit();
+            }
+        }
+    }
+}
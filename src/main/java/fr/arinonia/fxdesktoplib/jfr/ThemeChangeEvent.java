@@ -0,0 +1,22 @@
+package fr.arinonia.fxdesktoplib.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Spans one dispatch of a new palette to the listeners of a theme scope. */
+@Name("fr.arinonia.fxdesktoplib.ThemeChange")
+@Label("Theme Change")
+@Category({"FxDesktopLib", "Theme"})
+@Description("Dispatch of a palette to the listeners of a theme scope")
+@Enabled(false)
+public class ThemeChangeEvent extends Event {
+    @Label("Palette")
+    public String palette;
+
+    @Label("Listener Count")
+    public int listenerCount;
+}
@@ -8,4 +8,13 @@ public interface IPanel {
     void init(final UIManager uiManager);
     default void onShow() {}
     default void onHide() {}
+
+    /**
+     * Called when the panel falls out of the {@link UIManager} panel cache. Release the node graph here;
+     * the panel instance may be garbage-collected afterwards, in which case it is rebuilt from its supplier.
+     */
+    default void onEvict() {}
+
+    /** Called before an evicted panel that is still in memory is shown again; rebuild the node graph here. */
+    default void onRestore() {}
 }
@@ -2,7 +2,17 @@ package fr.arinonia.fxdesktoplib.theme;
 
 import javafx.scene.paint.Color;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
 public class ColorPalette {
+    private static final int[] OPACITY_STEPS = {12, 20, 23, 30, 38, 60, 87};
+    private static final List<Integer> OPACITY_STEP_LIST = Arrays.stream(OPACITY_STEPS).boxed().toList();
+
+    private static final ColorRole[] ROLES = ColorRole.values();
+    private static final Tint[] TINTS = Tint.values();
+
     private final String name;
     private final Color primary;
     private final Color primaryVariant;
@@ -26,6 +36,12 @@ public class ColorPalette {
     private final Color disabled;
     private final Color overlay;
 
+    // Token table, built once per palette so style code never formats colors
+    private final String[] hexTokens = new String[ROLES.length];
+    private final String[] cssTokens = new String[ROLES.length];
+    private final String[][] opacityTokens = new String[ROLES.length][OPACITY_STEPS.length];
+    private final String[][] tintTokens = new String[ROLES.length][TINTS.length];
+
     private ColorPalette(final Builder builder) {
         this.name = builder.name;
         this.primary = builder.primary;
@@ -49,6 +65,22 @@ public class ColorPalette {
         this.onInfo = builder.onInfo;
         this.disabled = builder.disabled;
         this.overlay = builder.overlay;
+        buildTokens();
+    }
+
+    private void buildTokens() {
+        for (final ColorRole role : ROLES) {
+            final int index = role.ordinal();
+            final Color color = role.resolve(this);
+            this.hexTokens[index] = toHex(color);
+            this.cssTokens[index] = toCss(color);
+            for (int step = 0; step < OPACITY_STEPS.length; step++) {
+                this.opacityTokens[index][step] = toRgba(color, OPACITY_STEPS[step] / 100.0);
+            }
+            for (final Tint tint : TINTS) {
+                this.tintTokens[index][tint.ordinal()] = toCss(tint.apply(color));
+            }
+        }
     }
 
     public String getName() { return this.name; }
@@ -73,36 +105,110 @@ public class ColorPalette {
     public Color getOnInfo() { return this.onInfo; }
     public Color getDisabled() { return this.disabled; }
     public Color getOverlay() { return this.overlay; }
+    public Color getColor(final ColorRole role) { return role.resolve(this); }
+
+    public String getPrimaryHex() { return getHex(ColorRole.PRIMARY); }
+    public String getPrimaryVariantHex() { return getHex(ColorRole.PRIMARY_VARIANT); }
+    public String getSecondaryHex() { return getHex(ColorRole.SECONDARY); }
+    public String getSecondaryVariantHex() { return getHex(ColorRole.SECONDARY_VARIANT); }
+    public String getAccentHex() { return getHex(ColorRole.ACCENT); }
+    public String getBackgroundHex() { return getHex(ColorRole.BACKGROUND); }
+    public String getSurfaceHex() { return getHex(ColorRole.SURFACE); }
+    public String getErrorHex() { return getHex(ColorRole.ERROR); }
+    public String getWarningHex() { return getHex(ColorRole.WARNING); }
+    public String getSuccessHex() { return getHex(ColorRole.SUCCESS); }
+    public String getInfoHex() { return getHex(ColorRole.INFO); }
+    public String getOnPrimaryHex() { return getHex(ColorRole.ON_PRIMARY); }
+    public String getOnSecondaryHex() { return getHex(ColorRole.ON_SECONDARY); }
+    public String getOnBackgroundHex() { return getHex(ColorRole.ON_BACKGROUND); }
+    public String getOnSurfaceHex() { return getHex(ColorRole.ON_SURFACE); }
+    public String getOnErrorHex() { return getHex(ColorRole.ON_ERROR); }
+    public String getOnWarningHex() { return getHex(ColorRole.ON_WARNING); }
+    public String getOnSuccessHex() { return getHex(ColorRole.ON_SUCCESS); }
+    public String getOnInfoHex() { return getHex(ColorRole.ON_INFO); }
+    public String getDisabledHex() { return getHex(ColorRole.DISABLED); }
+    public String getOverlayHex() { return getHex(ColorRole.OVERLAY); }
+
+    /** {@code #RRGGBB}, ignoring the color's opacity. */
+    public String getHex(final ColorRole role) {
+        return this.hexTokens[role.ordinal()];
+    }
+
+    /** {@code #RRGGBB} for opaque colors, {@code rgba(...)} otherwise. */
+    public String getCss(final ColorRole role) {
+        return this.cssTokens[role.ordinal()];
+    }
+
+    /**
+     * {@code rgba(...)} of the role at the given opacity. Values from {@link #getOpacitySteps()} are
+     * precomputed; any other percentage is formatted on demand.
+     */
+    public String getRgba(final ColorRole role, final int opacityPercent) {
+        for (int step = 0; step < OPACITY_STEPS.length; step++) {
+            if (OPACITY_STEPS[step] == opacityPercent) {
+                return this.opacityTokens[role.ordinal()][step];
+            }
+        }
+        return toRgba(getColor(role), opacityPercent / 100.0);
+    }
+
+    /** The opacity percentages precomputed for every role, in ascending order. */
+    public static List<Integer> getOpacitySteps() {
+        return OPACITY_STEP_LIST;
+    }
 
-    public String getPrimaryHex() { return colorToHex(this.primary); }
-    public String getPrimaryVariantHex() { return colorToHex(this.primaryVariant); }
-    public String getSecondaryHex() { return colorToHex(this.secondary); }
-    public String getSecondaryVariantHex() { return colorToHex(this.secondaryVariant); }
-    public String getAccentHex() { return colorToHex(this.accent); }
-    public String getBackgroundHex() { return colorToHex(this.background); }
-    public String getSurfaceHex() { return colorToHex(this.surface); }
-    public String getErrorHex() { return colorToHex(this.error); }
-    public String getWarningHex() { return colorToHex(this.warning); }
-    public String getSuccessHex() { return colorToHex(this.success); }
-    public String getInfoHex() { return colorToHex(this.info); }
-    public String getOnPrimaryHex() { return colorToHex(this.onPrimary); }
-    public String getOnSecondaryHex() { return colorToHex(this.onSecondary); }
-    public String getOnBackgroundHex() { return colorToHex(this.onBackground); }
-    public String getOnSurfaceHex() { return colorToHex(this.onSurface); }
-    public String getOnErrorHex() { return colorToHex(this.onError); }
-    public String getOnWarningHex() { return colorToHex(this.onWarning); }
-    public String getOnSuccessHex() { return colorToHex(this.onSuccess); }
-    public String getOnInfoHex() { return colorToHex(this.onInfo); }
-    public String getDisabledHex() { return colorToHex(this.disabled); }
-    public String getOverlayHex() { return colorToHex(this.overlay); }
-
-    private String colorToHex(final Color color) {
+    public String getTint(final ColorRole role, final Tint tint) {
+        return this.tintTokens[role.ordinal()][tint.ordinal()];
+    }
+
+    static String toHex(final Color color) {
         return String.format("#%02X%02X%02X",
                 (int) (color.getRed() * 255),
                 (int) (color.getGreen() * 255),
                 (int) (color.getBlue() * 255));
     }
 
+    static String toRgba(final Color color, final double opacity) {
+        return String.format(Locale.ROOT, "rgba(%d, %d, %d, %.2f)",
+                (int) (color.getRed() * 255),
+                (int) (color.getGreen() * 255),
+                (int) (color.getBlue() * 255),
+                opacity);
+    }
+
+    static String toCss(final Color color) {
+        return color.getOpacity() >= 1.0 ? toHex(color) : toRgba(color, color.getOpacity());
+    }
+
+    public enum Tint {
+        HOVER("hover", 0.08),
+        PRESSED("pressed", 0.16),
+        DISABLED("disabled", 0);
+
+        private static final double DISABLED_OPACITY = 0.38;
+
+        private final String key;
+        private final double amount;
+
+        Tint(final String key, final double amount) {
+            this.key = key;
+            this.amount = amount;
+        }
+
+        public String getKey() {
+            return this.key;
+        }
+
+        /** Lightens dark colors and darkens light ones; DISABLED fades the color instead. */
+        public Color apply(final Color color) {
+            if (this == DISABLED) {
+                return Color.color(color.getRed(), color.getGreen(), color.getBlue(), color.getOpacity() * DISABLED_OPACITY);
+            }
+            final double target = color.getBrightness() > 0.5 ? 0 : 1;
+            return color.interpolate(Color.color(target, target, target, color.getOpacity()), this.amount);
+        }
+    }
+
     public static class Builder {
         private String name = "Default";
         // Main colors
@@ -356,6 +462,33 @@ public class ColorPalette {
             return this;
         }
 
+        public Builder color(final ColorRole role, final Color color) {
+            switch (role) {
+                case PRIMARY -> this.primary = color;
+                case PRIMARY_VARIANT -> this.primaryVariant = color;
+                case SECONDARY -> this.secondary = color;
+                case SECONDARY_VARIANT -> this.secondaryVariant = color;
+                case ACCENT -> this.accent = color;
+                case BACKGROUND -> this.background = color;
+                case SURFACE -> this.surface = color;
+                case ERROR -> this.error = color;
+                case WARNING -> this.warning = color;
+                case SUCCESS -> this.success = color;
+                case INFO -> this.info = color;
+                case ON_PRIMARY -> this.onPrimary = color;
+                case ON_SECONDARY -> this.onSecondary = color;
+                case ON_BACKGROUND -> this.onBackground = color;
+                case ON_SURFACE -> this.onSurface = color;
+                case ON_ERROR -> this.onError = color;
+                case ON_WARNING -> this.onWarning = color;
+                case ON_SUCCESS -> this.onSuccess = color;
+                case ON_INFO -> this.onInfo = color;
+                case DISABLED -> this.disabled = color;
+                case OVERLAY -> this.overlay = color;
+            }
+            return this;
+        }
+
         public ColorPalette build() {
             return new ColorPalette(this);
         }
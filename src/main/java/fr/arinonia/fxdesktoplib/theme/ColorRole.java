@@ -0,0 +1,58 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import javafx.scene.paint.Color;
+
+import java.util.function.Function;
+
+public enum ColorRole {
+    PRIMARY("primary", ColorPalette::getPrimary),
+    PRIMARY_VARIANT("primary-variant", ColorPalette::getPrimaryVariant),
+    SECONDARY("secondary", ColorPalette::getSecondary),
+    SECONDARY_VARIANT("secondary-variant", ColorPalette::getSecondaryVariant),
+    ACCENT("accent", ColorPalette::getAccent),
+    BACKGROUND("background", ColorPalette::getBackground),
+    SURFACE("surface", ColorPalette::getSurface),
+    ERROR("error", ColorPalette::getError),
+    WARNING("warning", ColorPalette::getWarning),
+    SUCCESS("success", ColorPalette::getSuccess),
+    INFO("info", ColorPalette::getInfo),
+    ON_PRIMARY("on-primary", ColorPalette::getOnPrimary),
+    ON_SECONDARY("on-secondary", ColorPalette::getOnSecondary),
+    ON_BACKGROUND("on-background", ColorPalette::getOnBackground),
+    ON_SURFACE("on-surface", ColorPalette::getOnSurface),
+    ON_ERROR("on-error", ColorPalette::getOnError),
+    ON_WARNING("on-warning", ColorPalette::getOnWarning),
+    ON_SUCCESS("on-success", ColorPalette::getOnSuccess),
+    ON_INFO("on-info", ColorPalette::getOnInfo),
+    DISABLED("disabled", ColorPalette::getDisabled),
+    OVERLAY("overlay", ColorPalette::getOverlay);
+
+    private final String key;
+    private final Function<ColorPalette, Color> accessor;
+
+    ColorRole(final String key, final Function<ColorPalette, Color> accessor) {
+        this.key = key;
+        this.accessor = accessor;
+    }
+
+    public String getKey() {
+        return this.key;
+    }
+
+    public String getLookupName() {
+        return "-fxdl-" + this.key;
+    }
+
+    public static ColorRole fromKey(final String key) {
+        for (final ColorRole role : values()) {
+            if (role.key.equals(key)) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    public Color resolve(final ColorPalette palette) {
+        return this.accessor.apply(palette);
+    }
+}
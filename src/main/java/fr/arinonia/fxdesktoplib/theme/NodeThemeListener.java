@@ -0,0 +1,179 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binds a component's restyle callback to the {@link ThemeScope} nearest to its node. The listener registers
+ * itself weakly with that scope, so the component must keep it in a field, and moves to another scope when the
+ * node is attached somewhere else. A node that changed scope because one of its ancestors was moved is caught
+ * up the next time its old scope notifies it.
+ * <p>
+ * When {@link ThemeManager#isLazyRestyle() lazy restyle} is on, a palette change on a node that is not showing
+ * (detached, in a window that is not showing, or invisible itself or through an ancestor) only marks it stale.
+ * The restyle then runs once, with the current palette, when the node is showing again: while it is stale the
+ * node listens to the visibility of its ancestors and to its window, and stops as soon as it has restyled.
+ * <p>
+ * A listener created off the FX application thread belongs to a panel being preloaded. Until its node is first
+ * attached to a scene, which happens on the FX thread once the panel is handed over, palette changes only mark
+ * it stale without touching the node, whatever the lazy restyle setting.
+ */
+public class NodeThemeListener implements ThemeChangeListener {
+    static final String PROPERTY_KEY = "fxdesktoplib.theme.listener";
+
+    private final Node node;
+    private final ThemeChangeListener delegate;
+    private final ChangeListener<Object> treeListener = (obs, oldValue, newValue) -> onTreeChanged();
+    private final List<Node> watchedAncestors = new ArrayList<>();
+    private ThemeScope scope;
+    private Scene watchedScene;
+    private Window watchedWindow;
+    private boolean stale;
+    private boolean preloading;
+
+    public NodeThemeListener(final Node node, final ThemeChangeListener delegate) {
+        this.node = node;
+        this.delegate = delegate;
+        this.preloading = !Platform.isFxApplicationThread();
+        this.scope = ThemeScope.of(node);
+        this.scope.addWeakListener(this);
+        this.node.getProperties().put(PROPERTY_KEY, this);
+
+        this.node.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                this.preloading = false;
+            }
+            rebind();
+        });
+        this.node.parentProperty().addListener((obs, oldParent, newParent) -> rebind());
+        final ChangeListener<Boolean> visibleListener = (obs, wasVisible, isVisible) -> applyIfStale();
+        this.node.visibleProperty().addListener(visibleListener);
+    }
+
+    @Override
+    public void onThemeChanged(final ColorPalette newPalette) {
+        if (this.preloading) {
+            // the node is still being built on the preload thread
+            this.stale = true;
+            return;
+        }
+        if (ThemeScope.of(this.node) != this.scope) {
+            rebind();
+            return;
+        }
+        if (ThemeManager.isLazyRestyle() && !isShowing()) {
+            markStale();
+            return;
+        }
+        this.stale = false;
+        unwatchTree();
+        this.delegate.onThemeChanged(newPalette);
+    }
+
+    public boolean isStale() {
+        return this.stale;
+    }
+
+    public ThemeScope getScope() {
+        return this.scope;
+    }
+
+    void rebind() {
+        final ThemeScope nearest = ThemeScope.of(this.node);
+        if (nearest != this.scope) {
+            final boolean paletteChanged = nearest.getPalette() != this.scope.getPalette();
+            this.scope.removeListener(this);
+            this.scope = nearest;
+            this.scope.addWeakListener(this);
+            if (paletteChanged) {
+                this.stale = true;
+            }
+        }
+        if (this.stale) {
+            markStale();
+        }
+        applyIfStale();
+    }
+
+    private void applyIfStale() {
+        if (this.stale && isShowing()) {
+            this.stale = false;
+            unwatchTree();
+            this.delegate.onThemeChanged(this.scope.getPalette());
+        }
+    }
+
+    private void markStale() {
+        this.stale = true;
+        watchTree();
+    }
+
+    private void onTreeChanged() {
+        if (!this.stale) {
+            return;
+        }
+        if (isShowing()) {
+            applyIfStale();
+        } else {
+            // an ancestor may have been moved, so the chain is listened to again from the node up
+            watchTree();
+        }
+    }
+
+    /**
+     * Listens to the visibility and parent of every ancestor and to the window, the changes that can make
+     * a stale node show again without firing anything on the node itself.
+     */
+    private void watchTree() {
+        unwatchTree();
+        for (Node ancestor = this.node.getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+            ancestor.visibleProperty().addListener(this.treeListener);
+            ancestor.parentProperty().addListener(this.treeListener);
+            this.watchedAncestors.add(ancestor);
+        }
+        this.watchedScene = this.node.getScene();
+        if (this.watchedScene != null) {
+            this.watchedScene.windowProperty().addListener(this.treeListener);
+            this.watchedWindow = this.watchedScene.getWindow();
+            if (this.watchedWindow != null) {
+                this.watchedWindow.showingProperty().addListener(this.treeListener);
+            }
+        }
+    }
+
+    private void unwatchTree() {
+        for (final Node ancestor : this.watchedAncestors) {
+            ancestor.visibleProperty().removeListener(this.treeListener);
+            ancestor.parentProperty().removeListener(this.treeListener);
+        }
+        this.watchedAncestors.clear();
+        if (this.watchedScene != null) {
+            this.watchedScene.windowProperty().removeListener(this.treeListener);
+            this.watchedScene = null;
+        }
+        if (this.watchedWindow != null) {
+            this.watchedWindow.showingProperty().removeListener(this.treeListener);
+            this.watchedWindow = null;
+        }
+    }
+
+    private boolean isShowing() {
+        final Scene scene = this.node.getScene();
+        final Window window = scene != null ? scene.getWindow() : null;
+        if (window == null || !window.isShowing()) {
+            return false;
+        }
+        for (Node current = this.node; current != null; current = current.getParent()) {
+            if (!current.isVisible()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,116 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import fr.arinonia.fxdesktoplib.jfr.ThemeChangeEvent;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+class ThemeDispatcher {
+    private static final long DEFAULT_FRAME_BUDGET_NANOS = 8_000_000L;
+
+    private final ThemeListenerRegistry registry;
+    private final Supplier<ColorPalette> paletteSupplier;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private volatile long frameBudgetNanos = DEFAULT_FRAME_BUDGET_NANOS;
+
+    // FX application thread only
+    private List<ThemeChangeListener> pass;
+    private int passIndex;
+    private ColorPalette passPalette;
+    private ColorPalette dispatchedPalette;
+    private ThemeChangeEvent passEvent;
+    private AnimationTimer sliceTimer;
+
+    ThemeDispatcher(final ThemeListenerRegistry registry, final Supplier<ColorPalette> paletteSupplier) {
+        this.registry = registry;
+        this.paletteSupplier = paletteSupplier;
+    }
+
+    void dispatchNow(final ColorPalette palette) {
+        final ThemeChangeEvent event = new ThemeChangeEvent();
+        event.begin();
+        final List<ThemeChangeListener> listeners = this.registry.snapshot();
+        for (final ThemeChangeListener listener : listeners) {
+            listener.onThemeChanged(palette);
+        }
+        commit(event, palette, listeners.size());
+        if (Platform.isFxApplicationThread()) {
+            this.dispatchedPalette = palette;
+        }
+    }
+
+    void schedule() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::flush);
+        }
+    }
+
+    void setFrameBudgetNanos(final long frameBudgetNanos) {
+        this.frameBudgetNanos = frameBudgetNanos;
+    }
+
+    private void flush() {
+        this.scheduled.set(false);
+        final ColorPalette palette = this.paletteSupplier.get();
+        if (this.pass == null && palette == this.dispatchedPalette) {
+            return;
+        }
+
+        // A newer palette restarts the pass: listeners already visited will be restyled again.
+        this.pass = this.registry.snapshot();
+        this.passIndex = 0;
+        this.passPalette = palette;
+        this.passEvent = new ThemeChangeEvent();
+        this.passEvent.begin();
+        runSlice();
+        if (this.pass != null) {
+            getSliceTimer().start();
+        }
+    }
+
+    private void runSlice() {
+        final long deadline = System.nanoTime() + this.frameBudgetNanos;
+        while (this.passIndex < this.pass.size()) {
+            this.pass.get(this.passIndex++).onThemeChanged(this.passPalette);
+            if (System.nanoTime() >= deadline) {
+                return;
+            }
+        }
+
+        this.dispatchedPalette = this.passPalette;
+        commit(this.passEvent, this.passPalette, this.pass.size());
+        this.pass = null;
+        this.passPalette = null;
+        this.passEvent = null;
+        if (this.sliceTimer != null) {
+            this.sliceTimer.stop();
+        }
+    }
+
+    private static void commit(final ThemeChangeEvent event, final ColorPalette palette, final int listenerCount) {
+        if (event.shouldCommit()) {
+            event.palette = palette.getName();
+            event.listenerCount = listenerCount;
+            event.commit();
+        }
+    }
+
+    private AnimationTimer getSliceTimer() {
+        if (this.sliceTimer == null) {
+            this.sliceTimer = new AnimationTimer() {
+                @Override
+                public void handle(final long now) {
+                    if (pass == null) {
+                        stop();
+                    } else {
+                        runSlice();
+                    }
+                }
+            };
+        }
+        return this.sliceTimer;
+    }
+}
@@ -0,0 +1,122 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a directory of theme packs on a daemon thread. Bursts of writes to a file are collapsed into one
+ * reload once the file has been quiet for the debounce delay; the pack is re-indexed and parsed on the watcher
+ * thread, and only when the theme currently in use changed is the new palette handed to the FX thread.
+ */
+class ThemeHotReloader implements Runnable {
+    static final String PACK_EXTENSION = ".pack";
+    private static final long DEBOUNCE_NANOS = 250_000_000L;
+
+    private final Path directory;
+    private final WatchService watchService;
+    private final Thread thread;
+    // watcher thread only
+    private final Map<Path, Long> pending = new HashMap<>();
+
+    ThemeHotReloader(final Path directory) throws IOException {
+        this.directory = directory;
+        this.watchService = directory.getFileSystem().newWatchService();
+        this.directory.register(this.watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this, "fxdesktoplib-theme-reload");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        this.thread.start();
+    }
+
+    void stop() {
+        try {
+            this.watchService.close();
+        } catch (final IOException ignored) {
+        }
+        this.thread.interrupt();
+    }
+
+    @Override
+    public void run() {
+        try (final DirectoryStream<Path> packs = Files.newDirectoryStream(this.directory, "*" + PACK_EXTENSION)) {
+            for (final Path pack : packs) {
+                reload(pack);
+            }
+        } catch (final IOException e) {
+            System.err.printf("Failed to list theme packs in %s: %s%n", this.directory, e.getMessage());
+        }
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final WatchKey key = this.pending.isEmpty()
+                        ? this.watchService.take()
+                        : this.watchService.poll(nextDeadline() - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (key != null) {
+                    collect(key);
+                }
+                reloadDue();
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException ignored) {
+        }
+    }
+
+    private void collect(final WatchKey key) {
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof final Path name && name.toString().endsWith(PACK_EXTENSION)) {
+                this.pending.put(this.directory.resolve(name), System.nanoTime() + DEBOUNCE_NANOS);
+            }
+        }
+        key.reset();
+    }
+
+    private long nextDeadline() {
+        long deadline = Long.MAX_VALUE;
+        for (final long value : this.pending.values()) {
+            deadline = Math.min(deadline, value);
+        }
+        return deadline;
+    }
+
+    private void reloadDue() {
+        final long now = System.nanoTime();
+        final Iterator<Map.Entry<Path, Long>> iterator = this.pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Path, Long> entry = iterator.next();
+            if (entry.getValue() - now <= 0) {
+                iterator.remove();
+                reload(entry.getKey());
+            }
+        }
+    }
+
+    private void reload(final Path path) {
+        try {
+            final Set<String> changed = ThemeRegistry.reloadPack(ThemePack.of(path));
+            final String current = ThemeManager.getCurrentPalette().getName();
+            if (changed.contains(current)) {
+                final ColorPalette palette = ThemeRegistry.get(current);
+                Platform.runLater(() -> ThemeManager.setCurrentPalette(palette));
+            }
+        } catch (final IOException | RuntimeException e) {
+            System.err.printf("Failed to reload theme pack %s: %s%n", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class ThemeListenerRegistry {
+    private final List<ThemeChangeListener> strongListeners = new CopyOnWriteArrayList<>();
+    private final List<WeakReference<ThemeChangeListener>> weakListeners = new CopyOnWriteArrayList<>();
+    private final ReferenceQueue<ThemeChangeListener> collected = new ReferenceQueue<>();
+
+    void add(final ThemeChangeListener listener) {
+        this.strongListeners.add(listener);
+    }
+
+    void addWeak(final ThemeChangeListener listener) {
+        purge();
+        this.weakListeners.add(new WeakReference<>(listener, this.collected));
+    }
+
+    void remove(final ThemeChangeListener listener) {
+        this.strongListeners.remove(listener);
+        this.weakListeners.removeIf(reference -> reference.get() == listener);
+    }
+
+    List<ThemeChangeListener> snapshot() {
+        purge();
+        final List<ThemeChangeListener> listeners = new ArrayList<>(this.strongListeners.size() + this.weakListeners.size());
+        listeners.addAll(this.strongListeners);
+        for (final WeakReference<ThemeChangeListener> reference : this.weakListeners) {
+            final ThemeChangeListener listener = reference.get();
+            if (listener != null) {
+                listeners.add(listener);
+            }
+        }
+        return listeners;
+    }
+
+    int size() {
+        purge();
+        return this.strongListeners.size() + this.weakListeners.size();
+    }
+
+    private void purge() {
+        Reference<? extends ThemeChangeListener> reference = this.collected.poll();
+        if (reference == null) {
+            return;
+        }
+
+        final List<Reference<? extends ThemeChangeListener>> stale = new ArrayList<>();
+        do {
+            stale.add(reference);
+        } while ((reference = this.collected.poll()) != null);
+        this.weakListeners.removeAll(stale);
+    }
+}
@@ -1,37 +1,115 @@
 package fr.arinonia.fxdesktoplib.theme;
 
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import javafx.scene.Node;
+import javafx.util.Duration;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class ThemeManager {
-    private static ColorPalette currentPalette = createDefaultPalette();
-    private static final List<ThemeChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private static volatile boolean lazyRestyle = false;
+    private static volatile Duration transitionDuration = Duration.ZERO;
+    private static ThemeHotReloader hotReloader;
 
     public static ColorPalette getCurrentPalette() {
-        return currentPalette;
+        return ThemeScope.global().getPalette();
+    }
+
+    public static ColorPalette getPalette(final Node node) {
+        return ThemeScope.of(node).getPalette();
     }
 
     public static void setCurrentPalette(final ColorPalette palette) {
-        currentPalette = palette;
-        notifyListeners();
+        ThemeScope.global().setPalette(palette);
     }
 
     public static void addListener(final ThemeChangeListener listener) {
-        listeners.add(listener);
+        ThemeScope.global().addListener(listener);
     }
+
+    /**
+     * Registers a listener that is only weakly referenced, so it does not keep its owner alive.
+     * The caller must hold a strong reference to the listener (typically in a field of the component
+     * it restyles); once that owner is garbage-collected the listener is purged automatically.
+     */
+    public static void addWeakListener(final ThemeChangeListener listener) {
+        ThemeScope.global().addWeakListener(listener);
+    }
+
     public static void removeListener(final ThemeChangeListener listener) {
-        listeners.remove(listener);
+        ThemeScope.global().removeListener(listener);
+    }
+
+    public static int getListenerCount() {
+        return ThemeScope.global().getListenerCount();
+    }
+
+    public static DispatchMode getDispatchMode() {
+        return ThemeScope.global().getDispatchMode();
+    }
+
+    public static void setDispatchMode(final DispatchMode mode) {
+        ThemeScope.global().setDispatchMode(mode);
+    }
+
+    public static boolean isLazyRestyle() {
+        return lazyRestyle;
+    }
+
+    /**
+     * When enabled, components that are not showing (detached, in a hidden window, or under an invisible
+     * ancestor) defer their restyle until they are shown again (see {@link NodeThemeListener}).
+     */
+    public static void setLazyRestyle(final boolean lazy) {
+        lazyRestyle = lazy;
+    }
+
+    public static Duration getTransitionDuration() {
+        return transitionDuration;
+    }
+
+    /**
+     * Crossfades stylesheet-driven components from the old palette to the new one over the given duration,
+     * using one shared clock for every scene installed through {@link ThemeStylesheet#install}.
+     * {@link Duration#ZERO} (the default) switches instantly.
+     */
+    public static void setTransitionDuration(final Duration duration) {
+        transitionDuration = duration;
+    }
+
+    /**
+     * Maximum time a {@link DispatchMode#COALESCED} pass may spend notifying listeners in a single frame
+     * before the remaining listeners are deferred to the next frame.
+     */
+    public static void setDispatchFrameBudget(final Duration budget) {
+        ThemeScope.global().setDispatchFrameBudget(budget);
+    }
+
+    /**
+     * Registers every theme pack in {@code directory} and watches it for changes. When a pack is saved, only
+     * the themes whose section changed are re-parsed (off the FX thread), and the current palette is replaced
+     * through the normal dispatch path if it is one of them. Intended for iterating on palettes at runtime.
+     */
+    public static synchronized void enableHotReload(final Path directory) throws IOException {
+        disableHotReload();
+        hotReloader = new ThemeHotReloader(directory);
+        hotReloader.start();
     }
 
-    private static void notifyListeners() {
-        for (final ThemeChangeListener listener : listeners) {
-            listener.onThemeChanged(currentPalette);
+    public static synchronized void disableHotReload() {
+        if (hotReloader != null) {
+            hotReloader.stop();
+            hotReloader = null;
         }
     }
 
-    private static ColorPalette createDefaultPalette() {
-        return new ColorPalette.Builder()
-                .name("Default")
-                .build();
+    public enum DispatchMode {
+        /** Listeners run synchronously on the thread that called {@link #setCurrentPalette(ColorPalette)}. */
+        IMMEDIATE,
+        /**
+         * Safe to call from any thread: changes are collapsed into one pass on the FX application thread,
+         * sliced across frames when the listeners exceed the frame budget.
+         */
+        COALESCED
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,163 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import javafx.scene.paint.Color;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * A theme pack file holds any number of palettes, one section per theme:
+ * <pre>
+ * # comments start with '#'
+ * [Midnight]
+ * primary = #9580FF
+ * on-surface = rgba(255, 255, 255, 0.9)
+ * </pre>
+ * Keys are {@link ColorRole} keys and values anything {@link Color#web(String)} accepts; roles that are
+ * left out keep the {@link ColorPalette.Builder} defaults. Indexing a pack only records where each section
+ * starts and ends (and a checksum of its content); a palette is parsed from its own byte range the first
+ * time it is loaded. A range whose checksum no longer matches means the file was edited since it was indexed,
+ * so the pack is indexed again before the section is parsed.
+ */
+public class ThemePack {
+    private final Source source;
+    private final String description;
+    private volatile Map<String, long[]> sections;
+
+    private ThemePack(final Source source, final String description) throws IOException {
+        this.source = source;
+        this.description = description;
+        this.sections = index(source);
+    }
+
+    public static ThemePack of(final Path path) throws IOException {
+        return new ThemePack(() -> Files.newInputStream(path), path.toString());
+    }
+
+    public static ThemePack of(final URL url) throws IOException {
+        return new ThemePack(url::openStream, url.toExternalForm());
+    }
+
+    public Set<String> getThemeNames() {
+        return Collections.unmodifiableSet(this.sections.keySet());
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    long getChecksum(final String name) {
+        final long[] range = this.sections.get(name);
+        return range == null ? 0L : range[2];
+    }
+
+    public ColorPalette load(final String name) {
+        try {
+            String body = readSection(name);
+            if (body == null) {
+                this.sections = index(this.source);
+                body = readSection(name);
+                if (body == null) {
+                    throw new IllegalStateException(
+                            String.format("%s changed while loading %s", this.description, name));
+                }
+            }
+            return parse(name, body);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** @return the section's text, or null if the bytes at its recorded range are not the ones indexed */
+    private String readSection(final String name) throws IOException {
+        final long[] range = this.sections.get(name);
+        if (range == null) {
+            throw new IllegalArgumentException(String.format("Theme not found in %s: %s", this.description, name));
+        }
+
+        final byte[] bytes;
+        try (final InputStream in = this.source.open()) {
+            in.skipNBytes(range[0]);
+            bytes = in.readNBytes((int) (range[1] - range[0]));
+        } catch (final EOFException e) {
+            return null;
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue() == range[2] ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    static ColorPalette parse(final String name, final String body) {
+        final ColorPalette.Builder builder = new ColorPalette.Builder().name(name);
+        for (final String rawLine : body.split("\n")) {
+            final String line = rawLine.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            final int separator = line.indexOf('=');
+            final ColorRole role = separator < 0 ? null : ColorRole.fromKey(line.substring(0, separator).strip());
+            if (role == null) {
+                throw new IllegalArgumentException(String.format("Invalid entry in theme '%s': %s", name, line));
+            }
+            builder.color(role, Color.web(line.substring(separator + 1).strip()));
+        }
+        return builder.build();
+    }
+
+    private static Map<String, long[]> index(final Source source) throws IOException {
+        final byte[] bytes;
+        try (final InputStream in = source.open()) {
+            bytes = in.readAllBytes();
+        }
+
+        final Map<String, long[]> sections = new LinkedHashMap<>();
+        long[] current = null;
+        int lineStart = 0;
+        while (lineStart < bytes.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+
+            if (bytes[lineStart] == '[') {
+                if (current != null) {
+                    current[1] = lineStart;
+                }
+                checksum(bytes, current);
+                final String header = new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8).strip();
+                final String name = header.substring(1, header.endsWith("]") ? header.length() - 1 : header.length()).strip();
+                current = new long[]{Math.min(lineEnd + 1, bytes.length), bytes.length, 0L};
+                sections.put(name, current);
+            }
+            lineStart = lineEnd + 1;
+        }
+        checksum(bytes, current);
+        return sections;
+    }
+
+    private static void checksum(final byte[] bytes, final long[] range) {
+        if (range == null) {
+            return;
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, (int) range[0], (int) (range[1] - range[0]));
+        range[2] = crc.getValue();
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        InputStream open() throws IOException;
+    }
+}
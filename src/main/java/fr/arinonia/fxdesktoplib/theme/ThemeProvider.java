@@ -0,0 +1,14 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import java.util.Collection;
+
+/**
+ * Service interface for theme libraries. Implementations listed in
+ * {@code META-INF/services/fr.arinonia.fxdesktoplib.theme.ThemeProvider} are discovered by
+ * {@link ThemeRegistry} the first time it is queried; palettes are only created when a theme is requested.
+ */
+public interface ThemeProvider {
+    Collection<String> getThemeNames();
+
+    ColorPalette createTheme(final String name);
+}
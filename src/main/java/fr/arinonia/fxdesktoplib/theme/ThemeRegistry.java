@@ -0,0 +1,134 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Names every theme available to the application: the built-in {@link Themes}, the sections of registered
+ * {@link ThemePack theme packs} and the themes of {@link ThemeProvider} services. Registering only records
+ * names; a palette is built the first time it is looked up and kept softly, so unused themes of a large
+ * pack cost no memory.
+ */
+public class ThemeRegistry {
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final long NO_CHECKSUM = -1L;
+    private static volatile boolean providersLoaded = false;
+
+    static {
+        register("Dark", Themes::getDark);
+        register("Light", Themes::getLight);
+        register("Palenight", Themes::getPalenight);
+        register("Dracula", Themes::getDracula);
+        register("Nord", Themes::getNord);
+        register("Oceanic", Themes::getOceanic);
+    }
+
+    public static void register(final String name, final Supplier<ColorPalette> factory) {
+        ENTRIES.put(name, new Entry(factory, NO_CHECKSUM, null));
+    }
+
+    public static ThemePack registerPack(final Path path) throws IOException {
+        return registerPack(ThemePack.of(path));
+    }
+
+    public static ThemePack registerPack(final URL url) throws IOException {
+        return registerPack(ThemePack.of(url));
+    }
+
+    public static ThemePack registerPack(final ThemePack pack) {
+        reloadPack(pack);
+        return pack;
+    }
+
+    /**
+     * Registers every section of {@code pack}. Each entry now loads from {@code pack}, since the sections of
+     * an older pack may have moved; a section whose content is unchanged keeps the palette already cached for
+     * it.
+     *
+     * @return the names of the themes that were added or changed
+     */
+    static Set<String> reloadPack(final ThemePack pack) {
+        final Set<String> changed = new HashSet<>();
+        for (final String name : pack.getThemeNames()) {
+            final long checksum = pack.getChecksum(name);
+            final Entry previous = ENTRIES.get(name);
+            final boolean unchanged = previous != null && previous.checksum == checksum;
+            ENTRIES.put(name, new Entry(() -> pack.load(name), checksum, unchanged ? previous.getCached() : null));
+            if (!unchanged) {
+                changed.add(name);
+            }
+        }
+        return changed;
+    }
+
+    public static List<String> getThemeNames() {
+        loadProviders();
+        final List<String> names = new ArrayList<>(ENTRIES.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    public static Optional<ColorPalette> find(final String name) {
+        loadProviders();
+        final Entry entry = ENTRIES.get(name);
+        return entry == null ? Optional.empty() : Optional.of(entry.get());
+    }
+
+    public static ColorPalette get(final String name) {
+        return find(name).orElseThrow(() -> new IllegalArgumentException("Unknown theme: " + name));
+    }
+
+    private static void loadProviders() {
+        if (providersLoaded) {
+            return;
+        }
+        synchronized (ThemeRegistry.class) {
+            if (providersLoaded) {
+                return;
+            }
+            for (final ThemeProvider provider : ServiceLoader.load(ThemeProvider.class)) {
+                for (final String name : provider.getThemeNames()) {
+                    ENTRIES.putIfAbsent(name, new Entry(() -> provider.createTheme(name), NO_CHECKSUM, null));
+                }
+            }
+            providersLoaded = true;
+        }
+    }
+
+    private static class Entry {
+        private final Supplier<ColorPalette> factory;
+        private final long checksum;
+        private SoftReference<ColorPalette> cached;
+
+        Entry(final Supplier<ColorPalette> factory, final long checksum, final ColorPalette cached) {
+            this.factory = factory;
+            this.checksum = checksum;
+            this.cached = new SoftReference<>(cached);
+        }
+
+        synchronized ColorPalette getCached() {
+            return this.cached.get();
+        }
+
+        synchronized ColorPalette get() {
+            ColorPalette palette = this.cached.get();
+            if (palette == null) {
+                palette = this.factory.get();
+                this.cached = new SoftReference<>(palette);
+            }
+            return palette;
+        }
+    }
+}
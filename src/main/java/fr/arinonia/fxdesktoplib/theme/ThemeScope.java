@@ -0,0 +1,179 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.collections.ObservableMap;
+import javafx.util.Duration;
+
+/**
+ * An independent palette with its own listeners. {@link ThemeManager} is a facade over the global scope;
+ * additional scopes can be attached to a {@link Scene} or a {@link Parent} subtree (for example a dark
+ * inspector window next to a light main window), and components resolve the nearest scope above them.
+ * Changing a scope's palette only restyles the components that resolve to it.
+ * <p>
+ * A scope only holds weak references to what it is attached to: the listener that restyles a scene or subtree
+ * is kept in that scene's or parent's properties, so an attached window that is closed and dropped can still
+ * be garbage-collected.
+ */
+public class ThemeScope {
+    static final String PROPERTY_KEY = "fxdesktoplib.theme.scope";
+    private static final String LISTENER_KEY = "fxdesktoplib.theme.scope.listener";
+
+    private static final ThemeScope GLOBAL = new ThemeScope(new ColorPalette.Builder()
+            .name("Default")
+            .build());
+
+    private volatile ColorPalette palette;
+    private volatile ThemeManager.DispatchMode dispatchMode = ThemeManager.DispatchMode.IMMEDIATE;
+    private final ThemeListenerRegistry listeners = new ThemeListenerRegistry();
+    private final ThemeDispatcher dispatcher = new ThemeDispatcher(this.listeners, this::getPalette);
+
+    public ThemeScope(final ColorPalette palette) {
+        this.palette = palette;
+    }
+
+    public static ThemeScope global() {
+        return GLOBAL;
+    }
+
+    public static ThemeScope of(final Node node) {
+        for (Node current = node; current != null; current = current.getParent()) {
+            if (current.hasProperties() && current.getProperties().get(PROPERTY_KEY) instanceof final ThemeScope scope) {
+                return scope;
+            }
+        }
+        final Scene scene = node.getScene();
+        return scene != null ? of(scene) : GLOBAL;
+    }
+
+    public static ThemeScope of(final Scene scene) {
+        return scene.getProperties().get(PROPERTY_KEY) instanceof final ThemeScope scope ? scope : GLOBAL;
+    }
+
+    public ColorPalette getPalette() {
+        return this.palette;
+    }
+
+    public void setPalette(final ColorPalette palette) {
+        this.palette = palette;
+        if (this.dispatchMode == ThemeManager.DispatchMode.COALESCED) {
+            this.dispatcher.schedule();
+        } else {
+            this.dispatcher.dispatchNow(palette);
+        }
+    }
+
+    /**
+     * Makes this scope the palette of every component in the scene that is not inside a narrower scope.
+     * The scene gets the compiled stylesheet of this scope's palette instead of the global one. Attaching
+     * a scene that is already attached to this scope does nothing; a scene attached to another scope is
+     * detached from it first.
+     */
+    public void attach(final Scene scene) {
+        final Object attached = scene.getProperties().get(PROPERTY_KEY);
+        if (attached == this) {
+            return;
+        }
+        if (attached instanceof final ThemeScope other) {
+            other.detach(scene);
+        }
+        register(scene.getProperties(), palette -> ThemeStylesheet.apply(scene, palette));
+        ThemeStylesheet.install(scene);
+        rebindSubtree(scene.getRoot());
+    }
+
+    /** Gives the scene back to the global palette, if it is attached to this scope. */
+    public void detach(final Scene scene) {
+        if (scene.getProperties().get(PROPERTY_KEY) != this) {
+            return;
+        }
+        unregister(scene.getProperties());
+        ThemeStylesheet.apply(scene, of(scene).getPalette());
+        rebindSubtree(scene.getRoot());
+    }
+
+    /**
+     * Makes this scope the palette of the subtree below {@code parent}. The palette's looked-up colors are
+     * prepended to the parent's inline style, keeping any style already set on it, so the scene stylesheet's
+     * component rules resolve against this palette inside the subtree. As with scenes, attaching again is a
+     * no-op and a parent attached to another scope is detached from it first.
+     */
+    public void attach(final Parent parent) {
+        final Object attached = parent.getProperties().get(PROPERTY_KEY);
+        if (attached == this) {
+            return;
+        }
+        if (attached instanceof final ThemeScope other) {
+            other.detach(parent);
+        }
+        register(parent.getProperties(), palette -> ThemeStylesheet.applyLookups(parent, palette));
+        ThemeStylesheet.applyLookups(parent, this.palette);
+        rebindSubtree(parent);
+    }
+
+    /** Removes this scope's lookups from the parent, if it is attached here, so the subtree resolves upwards again. */
+    public void detach(final Parent parent) {
+        if (parent.getProperties().get(PROPERTY_KEY) != this) {
+            return;
+        }
+        unregister(parent.getProperties());
+        ThemeStylesheet.removeLookups(parent);
+        rebindSubtree(parent);
+    }
+
+    private void register(final ObservableMap<Object, Object> properties, final ThemeChangeListener listener) {
+        properties.put(PROPERTY_KEY, this);
+        properties.put(LISTENER_KEY, listener);
+        addWeakListener(listener);
+    }
+
+    private void unregister(final ObservableMap<Object, Object> properties) {
+        properties.remove(PROPERTY_KEY);
+        if (properties.remove(LISTENER_KEY) instanceof final ThemeChangeListener listener) {
+            removeListener(listener);
+        }
+    }
+
+    public void addListener(final ThemeChangeListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void addWeakListener(final ThemeChangeListener listener) {
+        this.listeners.addWeak(listener);
+    }
+
+    public void removeListener(final ThemeChangeListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    public int getListenerCount() {
+        return this.listeners.size();
+    }
+
+    public ThemeManager.DispatchMode getDispatchMode() {
+        return this.dispatchMode;
+    }
+
+    public void setDispatchMode(final ThemeManager.DispatchMode mode) {
+        this.dispatchMode = mode;
+    }
+
+    public void setDispatchFrameBudget(final Duration budget) {
+        this.dispatcher.setFrameBudgetNanos((long) (budget.toMillis() * 1_000_000L));
+    }
+
+    private static void rebindSubtree(final Node node) {
+        if (node == null) {
+            return;
+        }
+        if (node.hasProperties() && node.getProperties().get(NodeThemeListener.PROPERTY_KEY) instanceof final NodeThemeListener listener) {
+            listener.rebind();
+        }
+        if (node instanceof final Parent parent) {
+            for (final Node child : parent.getChildrenUnmodifiable()) {
+                rebindSubtree(child);
+            }
+        }
+    }
+}
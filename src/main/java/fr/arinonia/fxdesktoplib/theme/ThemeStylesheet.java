@@ -0,0 +1,207 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import fr.arinonia.fxdesktoplib.jfr.StyleApplyEvent;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * Compiles a {@link ColorPalette} into a single scene stylesheet: a {@code .root} block of looked-up colors
+ * ({@code -fxdl-primary}, {@code -fxdl-on-surface-60}, ...) followed by the component rules, so a theme switch
+ * is one stylesheet swap instead of one inline style per node. The lookups live in their own {@code -fxdl-}
+ * namespace: names such as {@code -fx-background} or {@code -fx-accent} belong to Modena, and redefining them
+ * would restyle every stock control in the scene.
+ * <p>
+ * Components call {@link #installOnAttach(Node)} when they are created, so any scene they end up in gets the
+ * stylesheet even if the application never called {@link #install(Scene)} on it.
+ */
+public class ThemeStylesheet {
+    private static final String COMPONENTS_RESOURCE = "components.css";
+    private static final String DATA_URL_PREFIX = "data:text/css;base64,";
+    private static final String SCENE_PROPERTY_KEY = "fxdesktoplib.theme.stylesheet";
+    private static final String LOOKUPS_PROPERTY_KEY = "fxdesktoplib.theme.lookups";
+
+    private static final Map<ColorPalette, String> URLS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<ColorPalette, String> LOOKUPS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static volatile String componentRules;
+
+    // FX thread only, like everything that touches the installed scenes
+    private static final Set<Scene> SCENES = Collections.newSetFromMap(new WeakHashMap<>());
+    private static final ThemeChangeListener LISTENER = ThemeStylesheet::onThemeChanged;
+    private static final ChangeListener<Scene> AUTO_INSTALL = (obs, oldScene, newScene) -> installIfAbsent(newScene);
+    private static ColorPalette installedPalette;
+    private static ThemeTransition transition;
+
+    public static String compile(final ColorPalette palette) {
+        final StringBuilder css = new StringBuilder(4096);
+        css.append(".root {\n");
+        appendLookups(css, palette);
+        css.append("}\n\n");
+        css.append(getComponentRules());
+        return css.toString();
+    }
+
+    public static String getUrl(final ColorPalette palette) {
+        return URLS.computeIfAbsent(palette, ThemeStylesheet::toDataUrl);
+    }
+
+    public static void install(final Scene scene) {
+        if (installedPalette == null) {
+            installedPalette = ThemeManager.getCurrentPalette();
+            ThemeManager.addListener(LISTENER);
+        }
+        SCENES.add(scene);
+        apply(scene, ThemeScope.of(scene).getPalette());
+    }
+
+    /** Installs the stylesheet into the scene {@code node} is in now and into every scene it is attached to later. */
+    public static void installOnAttach(final Node node) {
+        node.sceneProperty().addListener(AUTO_INSTALL);
+        installIfAbsent(node.getScene());
+    }
+
+    private static void installIfAbsent(final Scene scene) {
+        if (scene != null && !SCENES.contains(scene)) {
+            install(scene);
+        }
+    }
+
+    public static void apply(final Scene scene, final ColorPalette palette) {
+        final String url = getUrl(palette);
+        final Object previous = scene.getProperties().put(SCENE_PROPERTY_KEY, url);
+        if (url.equals(previous)) {
+            return;
+        }
+        StyleApplyEvent.record(scene);
+
+        final List<String> stylesheets = scene.getStylesheets();
+        final int index = previous == null ? -1 : stylesheets.indexOf(previous);
+        if (index >= 0) {
+            stylesheets.set(index, url);
+        } else {
+            stylesheets.add(0, url);
+        }
+    }
+
+    /**
+     * Writes the palette's looked-up colors in front of the parent's inline style. The rest of the style is
+     * kept, and the lookups written by a previous call are replaced rather than stacked.
+     */
+    public static void applyLookups(final Parent parent, final ColorPalette palette) {
+        StyleApplyEvent.record(parent);
+        final String lookups = LOOKUPS.computeIfAbsent(palette, key -> {
+            final StringBuilder css = new StringBuilder(4096);
+            appendLookups(css, key);
+            return css.toString();
+        });
+        final Object previous = parent.getProperties().put(LOOKUPS_PROPERTY_KEY, lookups);
+        String own = parent.getStyle() != null ? parent.getStyle() : "";
+        if (previous instanceof final String written && own.startsWith(written)) {
+            own = own.substring(written.length());
+        }
+        parent.setStyle(lookups + own);
+    }
+
+    /** Removes the lookups written by {@link #applyLookups(Parent, ColorPalette)}, keeping the rest of the style. */
+    public static void removeLookups(final Parent parent) {
+        final Object written = parent.getProperties().remove(LOOKUPS_PROPERTY_KEY);
+        final String style = parent.getStyle();
+        if (written instanceof final String lookups && style != null && style.startsWith(lookups)) {
+            parent.setStyle(style.substring(lookups.length()));
+        }
+    }
+
+    static void appendLookups(final StringBuilder css, final ColorPalette palette) {
+        for (final ColorRole role : ColorRole.values()) {
+            final String name = role.getLookupName();
+            appendLookup(css, name, palette.getCss(role));
+            for (final int step : ColorPalette.getOpacitySteps()) {
+                appendLookup(css, name + "-" + step, palette.getRgba(role, step));
+            }
+            for (final ColorPalette.Tint tint : ColorPalette.Tint.values()) {
+                appendLookup(css, name + "-" + tint.getKey(), palette.getTint(role, tint));
+            }
+        }
+    }
+
+    static void appendLookups(final StringBuilder css, final Function<ColorRole, Color> colors) {
+        for (final ColorRole role : ColorRole.values()) {
+            final String name = role.getLookupName();
+            final Color color = colors.apply(role);
+            appendLookup(css, name, ColorPalette.toCss(color));
+            for (final int step : ColorPalette.getOpacitySteps()) {
+                appendLookup(css, name + "-" + step, ColorPalette.toRgba(color, step / 100.0));
+            }
+            for (final ColorPalette.Tint tint : ColorPalette.Tint.values()) {
+                appendLookup(css, name + "-" + tint.getKey(), ColorPalette.toCss(tint.apply(color)));
+            }
+        }
+    }
+
+    private static void onThemeChanged(final ColorPalette palette) {
+        // immediate dispatch runs on whichever thread set the palette; the scenes and the transition are FX state
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> onThemeChanged(palette));
+            return;
+        }
+        final ColorPalette previous = installedPalette;
+        installedPalette = palette;
+        for (final Scene scene : SCENES) {
+            if (isGlobal(scene)) {
+                apply(scene, palette);
+            }
+        }
+
+        final Duration duration = ThemeManager.getTransitionDuration();
+        if (previous != palette && duration.greaterThan(Duration.ZERO)) {
+            if (transition == null) {
+                transition = new ThemeTransition(SCENES);
+            }
+            transition.play(previous, palette, duration);
+        }
+    }
+
+    static boolean isGlobal(final Scene scene) {
+        return ThemeScope.of(scene) == ThemeScope.global();
+    }
+
+    private static void appendLookup(final StringBuilder css, final String name, final String value) {
+        css.append("    ").append(name).append(": ").append(value).append(";\n");
+    }
+
+    private static String toDataUrl(final ColorPalette palette) {
+        return DATA_URL_PREFIX + Base64.getEncoder().encodeToString(compile(palette).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String getComponentRules() {
+        String rules = componentRules;
+        if (rules == null) {
+            try (final InputStream in = ThemeStylesheet.class.getResourceAsStream(COMPONENTS_RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing stylesheet resource: " + COMPONENTS_RESOURCE);
+                }
+                rules = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            componentRules = rules;
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,75 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import fr.arinonia.fxdesktoplib.jfr.AnimationStartEvent;
+import javafx.animation.Interpolator;
+import javafx.animation.Transition;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single clock shared by every installed scene: each frame it writes the interpolated palette as looked-up
+ * color overrides in the inline style of each scene root, then restores the roots once the target palette's
+ * stylesheet has taken over.
+ */
+class ThemeTransition extends Transition {
+    private static final ColorRole[] ROLES = ColorRole.values();
+
+    private final Iterable<Scene> scenes;
+    private final Color[] from = new Color[ROLES.length];
+    private final Color[] to = new Color[ROLES.length];
+    private final Color[] current = new Color[ROLES.length];
+    private final Map<Parent, String> originalStyles = new HashMap<>();
+    private final StringBuilder overrides = new StringBuilder(8192);
+
+    ThemeTransition(final Iterable<Scene> scenes) {
+        this.scenes = scenes;
+        this.setInterpolator(Interpolator.EASE_BOTH);
+        this.setOnFinished(e -> restoreRoots());
+    }
+
+    void play(final ColorPalette fromPalette, final ColorPalette toPalette, final Duration duration) {
+        final boolean retarget = getStatus() == Status.RUNNING;
+        stop();
+
+        for (int i = 0; i < ROLES.length; i++) {
+            this.from[i] = retarget && this.current[i] != null ? this.current[i] : fromPalette.getColor(ROLES[i]);
+            this.to[i] = toPalette.getColor(ROLES[i]);
+        }
+
+        setCycleDuration(duration);
+        playFromStart();
+        AnimationStartEvent.emit(this, this);
+    }
+
+    @Override
+    protected void interpolate(final double frac) {
+        for (int i = 0; i < ROLES.length; i++) {
+            this.current[i] = this.from[i].interpolate(this.to[i], frac);
+        }
+
+        this.overrides.setLength(0);
+        ThemeStylesheet.appendLookups(this.overrides, role -> this.current[role.ordinal()]);
+        final String lookups = this.overrides.toString();
+
+        for (final Scene scene : this.scenes) {
+            if (!ThemeStylesheet.isGlobal(scene)) {
+                continue;
+            }
+            final Parent root = scene.getRoot();
+            final String original = this.originalStyles.computeIfAbsent(root, Parent::getStyle);
+            root.setStyle(original.isBlank() || original.strip().endsWith(";")
+                    ? original + "\n" + lookups
+                    : original + ";\n" + lookups);
+        }
+    }
+
+    private void restoreRoots() {
+        this.originalStyles.forEach(Parent::setStyle);
+        this.originalStyles.clear();
+    }
+}
@@ -0,0 +1,235 @@
+package fr.arinonia.fxdesktoplib.ui;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Items of a {@link UIComboBox} fetched page by page from a {@link UIComboBox.ItemProvider}. Pages of the
+ * current query are appended to one list as the popup scrolls; while a page is being fetched the list ends
+ * with a {@code null} placeholder that the combo box renders as a loading cell. Fetched pages are kept in a
+ * bounded LRU cache keyed by query and page number, so reopening the popup or going back to an earlier query
+ * does not hit the provider again. The list only holds the items of cached pages: when a page of the current
+ * query leaves the cache its rows turn back into placeholders, and the page is fetched again if one of them
+ * is displayed. A page whose fetch failed is fetched again the next time the popup opens. Must be used on the
+ * FX application thread.
+ */
+final class ComboBoxPager<T> {
+    private final UIComboBox.ItemProvider<T> provider;
+    private final int pageSize;
+    private final Executor executor;
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private final Map<String, List<T>> cache;
+    // pages of the current query whose rows were unloaded and are being fetched again
+    private final Set<Integer> reloading = new HashSet<>();
+    private String query = "";
+    private int loadedPages;
+    private int loadedRows;
+    private boolean loading;
+    private boolean exhausted;
+    private boolean failed;
+    // bumped when the query changes; a fetch that finishes for an older generation is dropped
+    private volatile long generation;
+
+    ComboBoxPager(final UIComboBox.ItemProvider<T> provider, final int pageSize, final int cacheSize,
+                  final Executor executor) {
+        this.provider = provider;
+        this.pageSize = pageSize;
+        this.executor = executor;
+        // access order: iteration starts with the least recently used page
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, List<T>> eldest) {
+                if (size() <= cacheSize) {
+                    return false;
+                }
+                unload(eldest.getKey(), eldest.getValue().size());
+                return true;
+            }
+        };
+    }
+
+    ObservableList<T> getItems() {
+        return this.items;
+    }
+
+    /**
+     * Retries after a failed fetch, the next page right away and an unloaded page once it is displayed again, or
+     * loads the first page of the current query unless something is already loaded or loading.
+     */
+    void start() {
+        if (this.failed) {
+            this.failed = false;
+            if (!this.loading && !this.exhausted) {
+                loadNextPage();
+            }
+        } else if (this.loadedPages == 0 && !this.loading && !this.exhausted) {
+            loadNextPage();
+        }
+    }
+
+    void setQuery(final String query) {
+        final String normalized = query == null ? "" : query;
+        if (normalized.equals(this.query) && (this.loadedPages > 0 || this.loading)) {
+            return;
+        }
+        this.query = normalized;
+        reset();
+        loadNextPage();
+    }
+
+    /** Drops every cached page and loads the current query again. */
+    void refresh() {
+        this.cache.clear();
+        reset();
+        loadNextPage();
+    }
+
+    /**
+     * Called when the row at {@code index} is displayed; fetches its page again if it was unloaded, and the
+     * next page once the end is near.
+     */
+    void prefetch(final int index) {
+        final int page = index / this.pageSize;
+        // looking the page up also keeps the displayed pages the most recently used ones
+        if (page < this.loadedPages && this.cache.get(pageKey(page)) == null && !this.failed) {
+            reloadPage(page);
+        }
+        if (!this.loading && !this.exhausted && !this.failed && index >= this.items.size() - this.pageSize / 2) {
+            // cells are updated during layout, so the list is only changed once that pass is over
+            final long requested = this.generation;
+            this.loading = true;
+            Platform.runLater(() -> {
+                if (this.generation == requested) {
+                    this.loading = false;
+                    loadNextPage();
+                }
+            });
+        }
+    }
+
+    private void reset() {
+        this.generation++;
+        this.loadedPages = 0;
+        this.loadedRows = 0;
+        this.loading = false;
+        this.exhausted = false;
+        this.failed = false;
+        this.reloading.clear();
+        this.items.clear();
+    }
+
+    private void loadNextPage() {
+        final String key = pageKey(this.loadedPages);
+        final List<T> cached = this.cache.get(key);
+        if (cached != null) {
+            append(cached);
+            return;
+        }
+
+        final long requested = this.generation;
+        final String query = this.query;
+        final int offset = this.loadedPages * this.pageSize;
+        this.loading = true;
+        this.items.add(null);
+        fetch(requested, offset, query).whenCompleteAsync((page, error) -> {
+            if (this.generation != requested) {
+                return;
+            }
+            this.loading = false;
+            this.items.remove(this.items.size() - 1);
+            if (error != null) {
+                System.err.printf("Failed to load combo box items %d-%d for '%s': %s%n",
+                        offset, offset + this.pageSize, query, error.getCause());
+                this.failed = true;
+                return;
+            }
+            final List<T> fetched = page != null ? page : List.of();
+            this.cache.put(key, fetched);
+            append(fetched);
+        }, Platform::runLater);
+    }
+
+    /** Fetches an unloaded page again and puts its items back in place of its placeholder rows. */
+    private void reloadPage(final int page) {
+        if (!this.reloading.add(page)) {
+            return;
+        }
+        final long requested = this.generation;
+        final String query = this.query;
+        final int offset = page * this.pageSize;
+        fetch(requested, offset, query).whenCompleteAsync((fetched, error) -> {
+            if (this.generation != requested) {
+                return;
+            }
+            this.reloading.remove(page);
+            if (error != null) {
+                System.err.printf("Failed to reload combo box items %d-%d for '%s': %s%n",
+                        offset, offset + this.pageSize, query, error.getCause());
+                this.failed = true;
+                return;
+            }
+            final int rows = Math.min(this.pageSize, this.loadedRows - offset);
+            if (fetched == null || fetched.size() < rows) {
+                // the provider's items changed since the page was first loaded
+                refresh();
+                return;
+            }
+            this.cache.put(pageKey(page), fetched);
+            for (int i = 0; i < rows; i++) {
+                this.items.set(offset + i, fetched.get(i));
+            }
+        }, Platform::runLater);
+    }
+
+    /** Called when the cache evicts a page; turns its rows back into placeholders if it belongs to the list. */
+    private void unload(final String key, final int size) {
+        final int separator = key.indexOf(':');
+        final int page = Integer.parseInt(key.substring(0, separator));
+        if (!key.substring(separator + 1).equals(this.query) || page >= this.loadedPages) {
+            return;
+        }
+        final int offset = page * this.pageSize;
+        final int end = Math.min(offset + size, this.loadedRows);
+        for (int i = offset; i < end; i++) {
+            this.items.set(i, null);
+        }
+    }
+
+    private CompletableFuture<List<T>> fetch(final long requested, final int offset, final String query) {
+        return CompletableFuture.supplyAsync(() -> {
+            // a query typed since this was queued makes the fetch pointless
+            if (this.generation != requested) {
+                return null;
+            }
+            try {
+                return this.provider.fetch(offset, this.pageSize, query);
+            } catch (final Exception e) {
+                // passed through as is, so the callback below gets the provider's exception as its cause
+                throw new CompletionException(e);
+            }
+        }, this.executor);
+    }
+
+    private String pageKey(final int page) {
+        return page + ":" + this.query;
+    }
+
+    private void append(final List<T> page) {
+        this.loadedPages++;
+        this.loadedRows += page.size();
+        if (page.size() < this.pageSize) {
+            this.exhausted = true;
+        }
+        this.items.addAll(page);
+    }
+}
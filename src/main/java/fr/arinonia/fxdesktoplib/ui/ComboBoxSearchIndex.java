@@ -0,0 +1,206 @@
+package fr.arinonia.fxdesktoplib.ui;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Case-insensitive substring index over the display text of a {@link UIComboBox}'s items. Every text is split
+ * into trigrams and each trigram maps to the ascending positions of the items that contain it, so a query of
+ * three or more characters only verifies the items listed under its rarest trigram; shorter queries scan the
+ * texts. Building and searching are meant to run off the FX application thread and give up as soon as their
+ * cancellation check returns true.
+ */
+final class ComboBoxSearchIndex<T> {
+    private static final int GRAM = 3;
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private final List<T> items;
+    private final String[] texts;
+    private final TrigramTable trigrams;
+    private final int[][] postings;
+
+    private ComboBoxSearchIndex(final List<T> items, final String[] texts, final TrigramTable trigrams,
+                                final int[][] postings) {
+        this.items = items;
+        this.texts = texts;
+        this.trigrams = trigrams;
+        this.postings = postings;
+    }
+
+    /** @return the index, or null if it was cancelled */
+    static <T> ComboBoxSearchIndex<T> build(final List<T> items, final Function<T, String> toText,
+                                            final BooleanSupplier cancelled) {
+        final String[] texts = new String[items.size()];
+        final TrigramTable trigrams = new TrigramTable();
+        int[] counts = new int[1024];
+        int[] last = new int[1024];
+        for (int i = 0; i < texts.length; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+            texts[i] = normalize(toText.apply(items.get(i)));
+            for (int j = 0; j + GRAM <= texts[i].length(); j++) {
+                final int id = trigrams.add(trigram(texts[i], j));
+                if (id == counts.length) {
+                    counts = Arrays.copyOf(counts, id * 2);
+                    last = Arrays.copyOf(last, id * 2);
+                }
+                // positions are visited in order, so a repeated trigram within one text is counted once
+                if (counts[id] == 0 || last[id] != i) {
+                    counts[id]++;
+                    last[id] = i;
+                }
+            }
+        }
+
+        // second pass: the counts are known, so every posting list is allocated once at its exact size
+        final int[][] postings = new int[trigrams.size()][];
+        for (int id = 0; id < postings.length; id++) {
+            postings[id] = new int[counts[id]];
+            counts[id] = 0;
+        }
+        for (int i = 0; i < texts.length; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+            for (int j = 0; j + GRAM <= texts[i].length(); j++) {
+                final int id = trigrams.get(trigram(texts[i], j));
+                if (counts[id] == 0 || postings[id][counts[id] - 1] != i) {
+                    postings[id][counts[id]++] = i;
+                }
+            }
+        }
+        return new ComboBoxSearchIndex<>(items, texts, trigrams, postings);
+    }
+
+    /** @return the items whose text contains {@code query}, compared by identity, or null if cancelled */
+    Set<T> search(final String query, final BooleanSupplier cancelled) {
+        final String needle = normalize(query);
+        final Set<T> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (needle.length() < GRAM) {
+            for (int i = 0; i < this.texts.length; i++) {
+                if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                    return null;
+                }
+                if (this.texts[i].contains(needle)) {
+                    matches.add(this.items.get(i));
+                }
+            }
+            return matches;
+        }
+
+        int[] rarest = null;
+        for (int j = 0; j + GRAM <= needle.length(); j++) {
+            final int id = this.trigrams.get(trigram(needle, j));
+            if (id < 0) {
+                return matches;
+            }
+            if (rarest == null || this.postings[id].length < rarest.length) {
+                rarest = this.postings[id];
+            }
+        }
+        for (int k = 0; k < rarest.length; k++) {
+            if (k % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+            final int i = rarest[k];
+            if (this.texts[i].contains(needle)) {
+                matches.add(this.items.get(i));
+            }
+        }
+        return matches;
+    }
+
+    /** @return the first item whose text equals {@code text}, ignoring case, or null */
+    T find(final String text) {
+        final String needle = normalize(text);
+        for (int i = 0; i < this.texts.length; i++) {
+            if (this.texts[i].equals(needle)) {
+                return this.items.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(final String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(final String text, final int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    /** Open-addressing map from a packed trigram to a dense id, so indexing does not box a key per character. */
+    private static final class TrigramTable {
+        private static final long EMPTY = -1L;
+
+        private long[] keys = newKeys(1 << 12);
+        private int[] ids = new int[1 << 12];
+        private int size;
+
+        int add(final long key) {
+            int slot = slot(key);
+            while (this.keys[slot] != EMPTY) {
+                if (this.keys[slot] == key) {
+                    return this.ids[slot];
+                }
+                slot = (slot + 1) & (this.keys.length - 1);
+            }
+            this.keys[slot] = key;
+            this.ids[slot] = this.size;
+            if (++this.size * 2 > this.keys.length) {
+                grow();
+            }
+            return this.size - 1;
+        }
+
+        int get(final long key) {
+            int slot = slot(key);
+            while (this.keys[slot] != EMPTY) {
+                if (this.keys[slot] == key) {
+                    return this.ids[slot];
+                }
+                slot = (slot + 1) & (this.keys.length - 1);
+            }
+            return -1;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        private int slot(final long key) {
+            final long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & (this.keys.length - 1);
+        }
+
+        private void grow() {
+            final long[] oldKeys = this.keys;
+            final int[] oldIds = this.ids;
+            this.keys = newKeys(oldKeys.length * 2);
+            this.ids = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(oldKeys[i]);
+                    while (this.keys[slot] != EMPTY) {
+                        slot = (slot + 1) & (this.keys.length - 1);
+                    }
+                    this.keys[slot] = oldKeys[i];
+                    this.ids[slot] = oldIds[i];
+                }
+            }
+        }
+
+        private static long[] newKeys(final int capacity) {
+            final long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package fr.arinonia.fxdesktoplib.ui;
 
-import fr.arinonia.fxdesktoplib.theme.ColorPalette;
+import fr.arinonia.fxdesktoplib.animation.AnimationScheduler;
+import fr.arinonia.fxdesktoplib.jfr.AnimationStartEvent;
+import fr.arinonia.fxdesktoplib.jfr.StyleApplyEvent;
 import fr.arinonia.fxdesktoplib.theme.ThemeManager;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import fr.arinonia.fxdesktoplib.theme.ThemeStylesheet;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -17,11 +17,7 @@ import javafx.util.Duration;
 
 public class UIButton extends Button {
     private static final class Constants {
-        static final double DEFAULT_PADDING = 8;
-        static final double MENU_PADDING = 10;
         static final double MENU_BUTTON_WIDTH = 200;
-        static final double BORDER_RADIUS = 5;
-        static final double FONT_SIZE = 14;
 
         static final double DEFAULT_SHADOW_RADIUS = 5;
         static final double HOVER_SHADOW_RADIUS = 8;
@@ -31,9 +27,6 @@ public class UIButton extends Button {
         static final double PRESSED_SHADOW_OFFSET = 1;
 
         static final Duration ANIMATION_DURATION = Duration.millis(150);
-
-
-        static final String FONT_FAMILY = "Bahnschrift";
     }
 
     private final ObjectProperty<ButtonType> type = new SimpleObjectProperty<>(ButtonType.PRIMARY);
@@ -44,6 +37,7 @@ public class UIButton extends Button {
 
     private static final PseudoClass PRESSED = PseudoClass.getPseudoClass("pressed");
     private static final PseudoClass HOVER = PseudoClass.getPseudoClass("hover");
+    private static final PseudoClass MENU = PseudoClass.getPseudoClass("menu");
 
     public UIButton() {
         this("");
@@ -58,6 +52,7 @@ public class UIButton extends Button {
 
     private void initialize() {
         this.getStyleClass().add("ui-button");
+        ThemeStylesheet.installOnAttach(this);
         this.setCursor(Cursor.HAND);
 
         setupListeners();
@@ -91,8 +86,6 @@ public class UIButton extends Button {
                 this.buttonAnimator.playDefaultAnimation();
             }
         });
-
-        ThemeManager.addListener(palette -> this.buttonStyle.updateStyle());
     }
 
     private static class ButtonStyle {
@@ -103,55 +96,16 @@ public class UIButton extends Button {
         }
 
         void updateStyle() {
-            final ColorPalette palette = ThemeManager.getCurrentPalette();
-            final ButtonType currentType = button.getType();
-
-            final String backgroundColor = getBackgroundColor(currentType, palette);
-            final String textColor = getTextColor(currentType, palette);
-            final String padding = button.isMenuButton() ?
-                    String.format("%f %f", Constants.MENU_PADDING, Constants.MENU_PADDING * 2) :
-                    String.format("%f %f", Constants.DEFAULT_PADDING, Constants.DEFAULT_PADDING * 2);
-
-            final String style = String.format("""
-                    -fx-background-color: %s;
-                    -fx-text-fill: %s;
-                    -fx-padding: %s;
-                    -fx-background-radius: %f;
-                    -fx-font-family: '%s';
-                    -fx-font-size: %fpx;
-                    """,
-                    backgroundColor,
-                    textColor,
-                    padding,
-                    Constants.BORDER_RADIUS,
-                    Constants.FONT_FAMILY,
-                    Constants.FONT_SIZE
-            );
+            for (final ButtonType type : ButtonType.values()) {
+                this.button.getStyleClass().remove(type.getStyleClass());
+            }
+            this.button.getStyleClass().add(this.button.getType().getStyleClass());
+            StyleApplyEvent.record(this.button);
 
-            this.button.setStyle(style);
+            this.button.pseudoClassStateChanged(MENU, this.button.isMenuButton());
             updateButtonWidth();
         }
 
-        private String getBackgroundColor(final ButtonType type, final ColorPalette palette) {
-            return switch (type) {
-                case PRIMARY -> palette.getPrimaryHex();
-                case SECONDARY -> palette.getSecondaryHex();
-                case SUCCESS -> palette.getSuccessHex();
-                case WARNING -> palette.getWarningHex();
-                case ERROR -> palette.getErrorHex();
-            };
-        }
-
-        private String getTextColor(final ButtonType type, final ColorPalette palette) {
-            return switch (type) {
-                case PRIMARY -> palette.getOnPrimaryHex();
-                case SECONDARY -> palette.getOnSecondaryHex();
-                case SUCCESS -> palette.getOnSuccessHex();
-                case WARNING -> palette.getOnWarningHex();
-                case ERROR -> palette.getOnErrorHex();
-            };
-        }
-
         private void updateButtonWidth() {
             if (this.button.isMenuButton()) {
                 this.button.setPrefWidth(Constants.MENU_BUTTON_WIDTH);
@@ -163,12 +117,10 @@ public class UIButton extends Button {
 
     private static class ButtonAnimator {
         private final UIButton button;
-        private final Timeline animation;
         private DropShadow shadowEffect;
 
         ButtonAnimator(final UIButton button) {
             this.button = button;
-            this.animation = new Timeline();
             setupInitialShadow();
         }
 
@@ -204,20 +156,28 @@ public class UIButton extends Button {
         }
 
         private void playAnimation(final double targetRadius, final double targetOffset) {
-            this.animation.stop();
-            this.animation.getKeyFrames().clear();
-            this.animation.getKeyFrames().add(
-                    new KeyFrame(Constants.ANIMATION_DURATION,
-                            new KeyValue(this.shadowEffect.radiusProperty(), targetRadius),
-                            new KeyValue(this.shadowEffect.offsetYProperty(), targetOffset)
-                    )
-            );
-            this.animation.play();
+            AnimationScheduler.animate(this.shadowEffect.radiusProperty(), targetRadius, Constants.ANIMATION_DURATION);
+            AnimationScheduler.animate(this.shadowEffect.offsetYProperty(), targetOffset, Constants.ANIMATION_DURATION);
+            AnimationStartEvent.emit(this.button, Constants.ANIMATION_DURATION);
         }
     }
 
     public enum ButtonType {
-        PRIMARY, SECONDARY, SUCCESS, WARNING, ERROR
+        PRIMARY("primary"),
+        SECONDARY("secondary"),
+        SUCCESS("success"),
+        WARNING("warning"),
+        ERROR("error");
+
+        private final String styleClass;
+
+        ButtonType(final String styleClass) {
+            this.styleClass = styleClass;
+        }
+
+        public String getStyleClass() {
+            return this.styleClass;
+        }
     }
 
     public ButtonType getType() {
@@ -1,10 +1,13 @@
 package fr.arinonia.fxdesktoplib.ui;
 
+import fr.arinonia.fxdesktoplib.animation.AnimationScheduler;
+import fr.arinonia.fxdesktoplib.jfr.AnimationStartEvent;
+import fr.arinonia.fxdesktoplib.jfr.StyleApplyEvent;
 import fr.arinonia.fxdesktoplib.theme.ColorPalette;
+import fr.arinonia.fxdesktoplib.theme.NodeThemeListener;
+import fr.arinonia.fxdesktoplib.theme.ThemeChangeListener;
 import fr.arinonia.fxdesktoplib.theme.ThemeManager;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import fr.arinonia.fxdesktoplib.theme.ThemeStylesheet;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -19,7 +22,6 @@ public class UICard extends VBox {
     private static final class Constants {
         static final double DEFAULT_PADDING = 15;
         static final double DEFAULT_SPACING = 10;
-        static final double DEFAULT_RADIUS = 10;
         static final double DEFAULT_ELEVATION = 2;
 
         static final double SHADOW_OFFSET_Y = 2;
@@ -33,9 +35,9 @@ public class UICard extends VBox {
 
     private final BooleanProperty hoverable = new SimpleBooleanProperty(false);
     private final DoubleProperty elevation = new SimpleDoubleProperty(Constants.DEFAULT_ELEVATION);
-    private Timeline hoverAnimation;
     private DropShadow defaultShadow;
     private DropShadow hoverShadow;
+    private final ThemeChangeListener themeListener = new NodeThemeListener(this, this::onThemeChanged);
 
     public UICard() {
         initialize();
@@ -48,17 +50,17 @@ public class UICard extends VBox {
 
     private void initialize() {
         this.getStyleClass().add("ui-card");
+        ThemeStylesheet.installOnAttach(this);
         this.setPadding(new Insets(Constants.DEFAULT_PADDING));
         this.setSpacing(Constants.DEFAULT_SPACING);
 
         setupShadows();
-        setupEffects();
         setupListeners();
-        updateStyle();
     }
 
     private void setupShadows() {
-        final ColorPalette palette = ThemeManager.getCurrentPalette();
+        StyleApplyEvent.record(this);
+        final ColorPalette palette = ThemeManager.getPalette(this);
         this.defaultShadow = createShadow(getElevation(), Constants.SHADOW_OFFSET_Y, palette);
         this.hoverShadow = createShadow(
                 getElevation() * Constants.HOVER_ELEVATION_MULTIPLIER,
@@ -68,16 +70,6 @@ public class UICard extends VBox {
         this.setEffect(this.defaultShadow);
     }
 
-    private void setupEffects() {
-        this.hoverAnimation = new Timeline();
-        this.hoverAnimation.getKeyFrames().addAll(
-                new KeyFrame(Duration.ZERO,
-                        new KeyValue(translateYProperty(), 0),
-                        new KeyValue(this.defaultShadow.radiusProperty(), this.defaultShadow.getRadius())
-                )
-        );
-    }
-
     private void setupListeners() {
         this.hoverable.addListener((obs, oldVal, newVal) -> {
             if (newVal) {
@@ -90,8 +82,6 @@ public class UICard extends VBox {
         this.elevation.addListener((obs, oldVal, newVal) -> {
             setupShadows();
         });
-
-        ThemeManager.addListener(this::onThemeChanged);
     }
 
     private void setupHoverHandlers() {
@@ -106,43 +96,28 @@ public class UICard extends VBox {
     }
 
     private void resetState() {
-        this.hoverAnimation.stop();
+        AnimationScheduler.cancel(translateYProperty());
+        if (getEffect() instanceof final DropShadow shadow) {
+            AnimationScheduler.cancel(shadow.radiusProperty());
+            AnimationScheduler.cancel(shadow.offsetYProperty());
+        }
         this.setTranslateY(0);
         this.setEffect(this.defaultShadow);
     }
 
     private void playHoverAnimation(final boolean hovering) {
-        this.hoverAnimation.stop();
-
         final double targetTranslateY = hovering ? Constants.HOVER_TRANSLATE_Y : 0;
         final DropShadow targetShadow = hovering ? this.hoverShadow : this.defaultShadow;
+        final DropShadow shadow = (DropShadow) getEffect();
 
-        this.hoverAnimation.getKeyFrames().setAll(
-                new KeyFrame(Constants.ANIMATION_DURATION,
-                        new KeyValue(translateYProperty(), targetTranslateY),
-                        new KeyValue(((DropShadow)getEffect()).radiusProperty(), targetShadow.getRadius()),
-                        new KeyValue(((DropShadow)getEffect()).offsetYProperty(), targetShadow.getOffsetY())
-                )
-        );
-
-        this.hoverAnimation.play();
-    }
-
-    private void updateStyle() {
-        final ColorPalette palette = ThemeManager.getCurrentPalette();
-        final String style = String.format("""
-                -fx-background-color: %s;
-                -fx-background-radius: %f;
-                """,
-                palette.getSurfaceHex(),
-                Constants.DEFAULT_RADIUS
-        );
-        this.setStyle(style);
-        setupShadows();
+        AnimationScheduler.animate(translateYProperty(), targetTranslateY, Constants.ANIMATION_DURATION);
+        AnimationScheduler.animate(shadow.radiusProperty(), targetShadow.getRadius(), Constants.ANIMATION_DURATION);
+        AnimationScheduler.animate(shadow.offsetYProperty(), targetShadow.getOffsetY(), Constants.ANIMATION_DURATION);
+        AnimationStartEvent.emit(this, Constants.ANIMATION_DURATION);
     }
 
     private void onThemeChanged(final ColorPalette newPalette) {
-        updateStyle();
+        setupShadows();
     }
 
     private static DropShadow createShadow(final double elevation, final double offsetY, final ColorPalette palette) {
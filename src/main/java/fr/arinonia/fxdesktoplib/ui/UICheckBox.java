@@ -1,10 +1,9 @@
 package fr.arinonia.fxdesktoplib.ui;
 
-import fr.arinonia.fxdesktoplib.theme.ColorPalette;
-import fr.arinonia.fxdesktoplib.theme.ThemeManager;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import fr.arinonia.fxdesktoplib.animation.AnimationScheduler;
+import fr.arinonia.fxdesktoplib.jfr.AnimationStartEvent;
+import fr.arinonia.fxdesktoplib.theme.ThemeStylesheet;
+import javafx.animation.Interpolator;
 import javafx.beans.property.*;
 import javafx.beans.value.ChangeListener;
 import javafx.css.PseudoClass;
@@ -23,7 +22,6 @@ public class UICheckBox extends HBox {
     private static final class Constants {
         static final double DEFAULT_BOX_SIZE = 18;
         static final double DEFAULT_SPACING = 8;
-        static final double CORNER_RADIUS = 3;
         static final double RIPPLE_SIZE = 40;
 
         static final Duration ANIMATION_DURATION = Duration.millis(150);
@@ -33,9 +31,6 @@ public class UICheckBox extends HBox {
         static final String CHECK_MARK_PATH = "M9 16.17L4.83 12l-1.42 1.41L9 19 21 7l-1.41-1.41L9 16.17z";
         static final String INDETERMINATE_PATH = "M2 10h20v4H2z";
         static final double ICON_SCALE = 0.7;
-
-        static final String FONT_FAMILY = "Bahnschrift";
-        static final double FONT_SIZE = 14;
     }
 
     private final BooleanProperty selected;
@@ -55,8 +50,6 @@ public class UICheckBox extends HBox {
     private final StackPane boxContainer;
     private final Label validationLabel;
 
-    private final Timeline selectAnimation;
-    private final Timeline rippleAnimation;
 
     private static final PseudoClass SELECTED_PSEUDO_CLASS = PseudoClass.getPseudoClass("selected");
     private static final PseudoClass HOVER_PSEUDO_CLASS = PseudoClass.getPseudoClass("hover");
@@ -94,22 +87,19 @@ public class UICheckBox extends HBox {
         this.boxContainer = new StackPane();
         this.validationLabel = new Label();
 
-        this.selectAnimation = new Timeline();
-        this.rippleAnimation = new Timeline();
-
         initialize();
     }
 
     private void initialize() {
         setupLayout();
         setupComponents();
-        setupAnimations();
         setupListeners();
         setupKeyboardSupport();
-        updateStyle();
     }
 
     private void setupLayout() {
+        this.getStyleClass().add("ui-check-box");
+        ThemeStylesheet.installOnAttach(this);
         this.setAlignment(Pos.CENTER_LEFT);
         this.setSpacing(Constants.DEFAULT_SPACING);
         this.setCursor(Cursor.HAND);
@@ -128,6 +118,13 @@ public class UICheckBox extends HBox {
     }
 
     private void setupComponents() {
+        this.boxContainer.getStyleClass().add("box-container");
+        this.box.getStyleClass().add("box");
+        this.checkMark.getStyleClass().add("check-mark");
+        this.indeterminateMark.getStyleClass().add("indeterminate-mark");
+        this.ripple.getStyleClass().add("ripple");
+        this.label.getStyleClass().add("check-box-label");
+
         this.box.prefWidthProperty().bind(this.boxSize);
         this.box.prefHeightProperty().bind(this.boxSize);
         this.box.minWidthProperty().bind(this.boxSize);
@@ -158,48 +155,17 @@ public class UICheckBox extends HBox {
         this.boxContainer.setPrefSize(Constants.RIPPLE_SIZE, Constants.RIPPLE_SIZE);
     }
 
-    private void setupAnimations() {
-        setupSelectAnimation();
-        setupRippleAnimation();
-    }
-
-    private void setupSelectAnimation() {
-        this.selectAnimation.getKeyFrames().addAll(
-                new KeyFrame(Duration.ZERO,
-                        new KeyValue(this.checkMark.opacityProperty(), 0),
-                        new KeyValue(this.indeterminateMark.opacityProperty(), 0)
-                ),
-                new KeyFrame(Constants.ANIMATION_DURATION,
-                        new KeyValue(this.checkMark.opacityProperty(), 1),
-                        new KeyValue(this.indeterminateMark.opacityProperty(), 1)
-                )
-        );
-    }
-
-    private void setupRippleAnimation() {
-        this.rippleAnimation.getKeyFrames().addAll(
-                new KeyFrame(Duration.ZERO,
-                        new KeyValue(this.ripple.opacityProperty(), Constants.RIPPLE_MAX_OPACITY)
-                ),
-                new KeyFrame(Constants.RIPPLE_DURATION,
-                        new KeyValue(this.ripple.opacityProperty(), 0)
-                )
-        );
-    }
-
     private void setupListeners() {
         this.selected.addListener((obs, wasSelected, isSelected) -> {
+            pseudoClassStateChanged(SELECTED_PSEUDO_CLASS, isSelected);
             if (!this.indeterminate.get()) {
-                pseudoClassStateChanged(SELECTED_PSEUDO_CLASS, isSelected);
                 playSelectAnimation();
-                updateStyle();
             }
         });
 
         this.disabled.addListener((obs, wasDisabled, isDisabled) -> {
             pseudoClassStateChanged(DISABLED_PSEUDO_CLASS, isDisabled);
             this.setCursor(isDisabled ? Cursor.DEFAULT : Cursor.HAND);
-            updateStyle();
         });
 
         this.indeterminate.addListener((obs, wasIndeterminate, isIndeterminate) -> {
@@ -207,7 +173,6 @@ public class UICheckBox extends HBox {
             if (isIndeterminate) {
                 this.selected.set(false);
             }
-            updateStyle();
         });
 
         this.setOnMouseClicked(event -> {
@@ -225,14 +190,10 @@ public class UICheckBox extends HBox {
         this.setOnMouseEntered(event -> {
             if (!this.disabled.get()) {
                 pseudoClassStateChanged(HOVER_PSEUDO_CLASS, true);
-                updateStyle();
             }
         });
 
-        this.setOnMouseExited(event -> {
-            pseudoClassStateChanged(HOVER_PSEUDO_CLASS, false);
-            updateStyle();
-        });
+        this.setOnMouseExited(event -> pseudoClassStateChanged(HOVER_PSEUDO_CLASS, false));
 
         this.labelPosition.addListener((obs, oldPos, newPos) -> updateLabelPosition());
 
@@ -242,10 +203,7 @@ public class UICheckBox extends HBox {
             this.validationLabel.setVisible(hasError);
             this.validationLabel.setManaged(hasError);
             pseudoClassStateChanged(INVALID_PSEUDO_CLASS, hasError);
-            updateStyle();
         });
-
-        ThemeManager.addListener(palette -> updateStyle());
     }
 
     private void setupKeyboardSupport() {
@@ -306,119 +264,20 @@ public class UICheckBox extends HBox {
         this.selected.addListener(this.parentSelectedListener);
     }
 
-    private void updateStyle() {
-        final ColorPalette palette = ThemeManager.getCurrentPalette();
-
-        String boxBorderColor;
-        String boxBackgroundColor;
-
-        if (this.disabled.get()) {
-            boxBorderColor = String.format("rgba(%d, %d, %d, 0.38)",
-                    (int) (palette.getOnSurface().getRed() * 255),
-                    (int) (palette.getOnSurface().getGreen() * 255),
-                    (int) (palette.getOnSurface().getBlue() * 255));
-            boxBackgroundColor = "transparent";
-        } else if (this.selected.get() || this.indeterminate.get()) {
-            boxBorderColor = this.validationMessage.get().isEmpty() ?
-                    palette.getPrimaryHex() : palette.getErrorHex();
-            boxBackgroundColor = boxBorderColor;
-        } else {
-            boxBorderColor = String.format("rgba(%d, %d, %d, 0.6)",
-                    (int) (palette.getOnSurface().getRed() * 255),
-                    (int) (palette.getOnSurface().getGreen() * 255),
-                    (int) (palette.getOnSurface().getBlue() * 255));
-            boxBackgroundColor = "transparent";
-        }
-
-        this.box.setStyle(String.format("""
-            -fx-background-color: %s;
-            -fx-border-color: %s;
-            -fx-border-width: 2;
-            -fx-border-radius: %f;
-            -fx-background-radius: %f;
-            """,
-                boxBackgroundColor,
-                boxBorderColor,
-                Constants.CORNER_RADIUS,
-                Constants.CORNER_RADIUS
-        ));
-
-        final String iconColor = this.disabled.get() ?
-                String.format("rgba(%d, %d, %d, 0.38)",
-                        (int) (palette.getOnSurface().getRed() * 255),
-                        (int) (palette.getOnSurface().getGreen() * 255),
-                        (int) (palette.getOnSurface().getBlue() * 255)) :
-                palette.getOnPrimaryHex();
-
-        this.checkMark.setStyle(String.format("-fx-fill: %s;", iconColor));
-        this.indeterminateMark.setStyle(String.format("-fx-fill: %s;", iconColor));
-
-        final String textColor = this.disabled.get() ?
-                String.format("rgba(%d, %d, %d, 0.38)",
-                        (int) (palette.getOnSurface().getRed() * 255),
-                        (int) (palette.getOnSurface().getGreen() * 255),
-                        (int) (palette.getOnSurface().getBlue() * 255)) :
-                palette.getOnSurfaceHex();
-
-        this.label.setStyle(String.format("""
-            -fx-text-fill: %s;
-            -fx-font-family: '%s';
-            -fx-font-size: %f;
-            """,
-                textColor,
-                Constants.FONT_FAMILY,
-                Constants.FONT_SIZE
-        ));
-
-        this.validationLabel.setStyle(String.format("""
-            -fx-text-fill: %s;
-            -fx-font-family: '%s';
-            -fx-font-size: %f;
-            """,
-                palette.getErrorHex(),
-                Constants.FONT_FAMILY,
-                Constants.FONT_SIZE - 2
-        ));
-
-        final String rippleColor = String.format("rgba(%d, %d, %d, %.2f)",
-                (int) (palette.getPrimary().getRed() * 255),
-                (int) (palette.getPrimary().getGreen() * 255),
-                (int) (palette.getPrimary().getBlue() * 255),
-                isHover() ? Constants.RIPPLE_MAX_OPACITY : 0);
-
-        this.ripple.setStyle(String.format("""
-            -fx-background-color: %s;
-            -fx-background-radius: %f;
-            """,
-                rippleColor,
-                Constants.RIPPLE_SIZE / 2
-        ));
-    }
-
     private void playSelectAnimation() {
-        this.selectAnimation.stop();
-        this.selectAnimation.getKeyFrames().clear();
-
         final Node targetIcon = this.indeterminate.get() ? this.indeterminateMark : this.checkMark;
         final Node otherIcon = this.indeterminate.get() ? this.checkMark : this.indeterminateMark;
 
-        otherIcon.setOpacity(0);
-
-        this.selectAnimation.getKeyFrames().addAll(
-                new KeyFrame(Duration.ZERO,
-                        new KeyValue(targetIcon.opacityProperty(), targetIcon.getOpacity())
-                ),
-                new KeyFrame(Constants.ANIMATION_DURATION,
-                        new KeyValue(targetIcon.opacityProperty(), this.selected.get() || this.indeterminate.get() ? 1 : 0)
-                )
-        );
-
-        this.selectAnimation.play();
+        AnimationScheduler.animate(otherIcon.opacityProperty(), 0, Duration.ZERO);
+        AnimationScheduler.animate(targetIcon.opacityProperty(),
+                this.selected.get() || this.indeterminate.get() ? 1 : 0, Constants.ANIMATION_DURATION);
+        AnimationStartEvent.emit(this, Constants.ANIMATION_DURATION);
     }
 
     private void playRippleAnimation() {
-        this.rippleAnimation.stop();
-        this.rippleAnimation.play();
+        AnimationScheduler.animate(this.ripple.opacityProperty(), Constants.RIPPLE_MAX_OPACITY, 0,
+                Constants.RIPPLE_DURATION, Interpolator.LINEAR);
+        AnimationStartEvent.emit(this, Constants.RIPPLE_DURATION);
     }
 
     public boolean isSelected() {
@@ -1,298 +1,354 @@
 package fr.arinonia.fxdesktoplib.ui;
 
-import fr.arinonia.fxdesktoplib.theme.ColorPalette;
-import fr.arinonia.fxdesktoplib.theme.ThemeManager;
+import fr.arinonia.fxdesktoplib.theme.ThemeStylesheet;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.css.PseudoClass;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.skin.ComboBoxListViewSkin;
 import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
 import javafx.util.StringConverter;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Themed combo box. The button cell, popup list and its cells are styled entirely by {@code components.css}:
+ * selection and hover use the {@code :selected} and {@code :hover} pseudo-classes and colors come from the
+ * theme's looked-up colors, so neither a theme change nor an item update touches the cells.
+ * <p>
+ * In {@link #setSearchable(boolean) searchable} mode the combo box is editable and typing filters the popup.
+ * The items are indexed by their converter text on a background thread, which means the converter must be
+ * safe to call off the FX application thread.
+ * <p>
+ * With an {@link #setItemProvider(ItemProvider) item provider} the items are not held in memory up front:
+ * the popup fetches them page by page on a background thread as it scrolls, keeping only the most recently
+ * displayed pages in memory, and in searchable mode the typed text is passed to the provider as its query.
+ */
 public class UIComboBox<T> extends StackPane {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int PAGE_CACHE_SIZE = 64;
+    private static final int PAGER_THREADS = 2;
+    private static final PseudoClass LOADING = PseudoClass.getPseudoClass("loading");
 
-    private static final double DEFAULT_BORDER_RADIUS = 5;
-    private static final double DEFAULT_PADDING = 4;
-    private static final double DEFAULT_CELL_PADDING = 8;
-    private static final double SCROLLBAR_THUMB_RADIUS = 3;
-    private static final double HOVER_COLOR_OPACITY = 0.2;
-
+    private static ExecutorService searchExecutor;
+    private static ExecutorService pagerExecutor;
 
     private final ComboBox<T> comboBox;
+    private final ListView<T> listView;
+    private ItemConverter itemConverter = new ItemConverter();
+    private final ListChangeListener<T> itemsListener = change -> rebuildSearchIndex();
+    private final AtomicLong searchGeneration = new AtomicLong();
+    private ObservableList<T> items;
+    private FilteredList<T> filteredItems;
+    private ComboBoxPager<T> pager;
+    private volatile CompletableFuture<ComboBoxSearchIndex<T>> searchIndex;
+    // the index whose build is queued for the next pulse; item changes until then are picked up by that build
+    private CompletableFuture<ComboBoxSearchIndex<T>> queuedIndex;
+    private volatile StringConverter<T> converter;
+    private boolean searchable;
+    private boolean filtering;
 
 
     public UIComboBox() {
         this.comboBox = new ComboBox<>();
+        final ComboBoxListViewSkin<T> skin = new ComboBoxListViewSkin<>(this.comboBox);
+        this.comboBox.setSkin(skin);
+        // the skin's popup content is the ListView it creates for this combo box's items
+        @SuppressWarnings("unchecked")
+        final ListView<T> popupList = (ListView<T>) skin.getPopupContent();
+        this.listView = popupList;
         initialize();
     }
 
 
     private void initialize() {
         setupComboBox();
-        setupThemeListener();
+        setupSearch();
         this.getChildren().add(this.comboBox);
     }
 
     private void setupComboBox() {
+        this.comboBox.getStyleClass().add("ui-combo-box");
+        ThemeStylesheet.installOnAttach(this);
         this.comboBox.setMaxWidth(Double.MAX_VALUE);
-        setupCellFactory();
-        applyInitialStyle();
-        setupPopupListener();
-    }
-
-    private void setupCellFactory() {
-        this.comboBox.setCellFactory(listView -> {
-            ListCell<T> cell = createCell();
-            setupListViewListener(listView);
-            return cell;
+        this.listView.getStyleClass().add("ui-combo-box-list");
+        this.comboBox.setConverter(this.itemConverter);
+        this.comboBox.setCellFactory(listView -> new ConverterListCell());
+        this.comboBox.setButtonCell(new ConverterListCell());
+        this.items = this.comboBox.getItems();
+        this.items.addListener(this.itemsListener);
+    }
+
+    private void setupSearch() {
+        this.comboBox.getEditor().textProperty().addListener((obs, oldText, newText) -> {
+            // the combo box rewrites the editor when its value changes; only typing filters
+            if (this.searchable && !this.filtering && this.comboBox.getEditor().isFocused()) {
+                search(newText);
+            }
         });
-        this.comboBox.setButtonCell(createCell());
-    }
-
-    private void setupListViewListener(final ListView<T> listView) {
-        listView.getItems().addListener((ListChangeListener<? super T>) c ->
-                updatePopupStyle(ThemeManager.getCurrentPalette()));
-    }
-
-    private void setupPopupListener() {
         this.comboBox.showingProperty().addListener((obs, wasShowing, isShowing) -> {
-            if (isShowing) {
-                updatePopupStyle(ThemeManager.getCurrentPalette());
+            if (isShowing && this.pager != null) {
+                this.pager.start();
+            } else if (!isShowing && this.pager != null) {
+                preserveEditorText(() -> this.pager.setQuery(""));
+            } else if (!isShowing && this.filteredItems != null) {
+                this.searchGeneration.incrementAndGet();
+                applyFilter(null);
             }
         });
     }
 
-    private void applyInitialStyle() {
-        updateStyle(ThemeManager.getCurrentPalette());
-    }
-
-
-    private ListCell<T> createCell() {
-        return new StyleableListCell();
-    }
-
-    private class StyleableListCell extends ListCell<T> {
+    private class ConverterListCell extends ListCell<T> {
         @Override
         protected void updateItem(final T item, final boolean empty) {
             super.updateItem(item, empty);
-            if (empty || item == null) {
+            // a null row in a paged list is the placeholder shown while the next page loads
+            final boolean loading = !empty && item == null && pager != null;
+            this.pseudoClassStateChanged(LOADING, loading);
+            this.setDisable(loading);
+            if (loading) {
+                this.setText("Loading...");
+            } else if (empty || item == null) {
                 this.setText(null);
             } else {
-                final StringConverter<T> converter = comboBox.getConverter();
-                this.setText(converter != null ? converter.toString(item) : item.toString());
+                this.setText(itemConverter.toString(item));
+            }
+            if (!empty && pager != null && getListView() == listView) {
+                pager.prefetch(getIndex());
             }
-            updateCellStyle(this);
         }
+    }
 
+    /**
+     * Display text of the items through the user converter, and the reverse lookup an editable combo box
+     * needs when the typed text is committed.
+     */
+    private class ItemConverter extends StringConverter<T> {
         @Override
-        public void updateSelected(final boolean selected) {
-            super.updateSelected(selected);
-            updateCellStyle(this);
+        public String toString(final T item) {
+            if (item == null) {
+                return "";
+            }
+            final StringConverter<T> userConverter = converter;
+            return userConverter != null ? userConverter.toString(item) : item.toString();
         }
-    }
 
-    private void updateStyle(final ColorPalette palette) {
-        applyComboBoxStyle(palette);
-        applyArrowStyle(palette);
-        updateButtonCell();
+        @Override
+        public T fromString(final String text) {
+            final T value = comboBox.getValue();
+            if (text == null || text.isEmpty()) {
+                return null;
+            }
+            if (value != null && text.equals(toString(value))) {
+                return value;
+            }
+            final ComboBoxSearchIndex<T> index = searchIndex != null ? searchIndex.getNow(null) : null;
+            final T match = index != null ? index.find(text) : null;
+            return match != null ? match : value;
+        }
     }
 
-    private void applyComboBoxStyle(final ColorPalette palette) {
-        this.comboBox.setStyle(String.format("""
-                        -fx-background-color: %s;
-                        -fx-text-fill: %s;
-                        -fx-border-color: %s;
-                        -fx-border-radius: %.1f;
-                        -fx-background-radius: %.1f;
-                        -fx-padding: %.1f %.1f;
-                        """,
-                palette.getSurfaceHex(),
-                palette.getOnSurfaceHex(),
-                colorWithOpacity(palette.getOnSurface(), HOVER_COLOR_OPACITY),
-                DEFAULT_BORDER_RADIUS,
-                DEFAULT_BORDER_RADIUS,
-                DEFAULT_PADDING,
-                DEFAULT_CELL_PADDING
-        ));
+    private void search(final String text) {
+        final long generation = this.searchGeneration.incrementAndGet();
+        final boolean cleared = text == null || text.isEmpty()
+                || text.equals(this.itemConverter.toString(this.comboBox.getValue()));
+        if (!cleared && !this.comboBox.isShowing()) {
+            this.comboBox.show();
+        }
+        if (this.pager != null) {
+            preserveEditorText(() -> this.pager.setQuery(cleared ? "" : text));
+            return;
+        }
+        if (cleared) {
+            applyFilter(null);
+            return;
+        }
+
+        // a newer keystroke bumps the generation, which cancels this query and drops its result
+        this.searchIndex
+                .thenApplyAsync(index -> index == null ? null
+                        : index.search(text, () -> this.searchGeneration.get() != generation), getSearchExecutor())
+                .thenAcceptAsync(matches -> {
+                    if (matches != null && this.searchGeneration.get() == generation) {
+                        applyFilter(matches::contains);
+                    }
+                }, Platform::runLater);
     }
 
-    private void applyArrowStyle(final ColorPalette palette) {
-        if (this.comboBox.lookup(".arrow") != null) {
-            this.comboBox.lookup(".arrow").setStyle(String.format("""
-                            -fx-background-color: %s;
-                            """,
-                    palette.getOnSurfaceHex()
-            ));
+    private void applyFilter(final Predicate<T> predicate) {
+        if (this.filteredItems.getPredicate() != predicate) {
+            preserveEditorText(() -> this.filteredItems.setPredicate(predicate));
         }
     }
 
-    private void updateButtonCell() {
-        if (this.comboBox.getButtonCell() != null) {
-            updateCellStyle(this.comboBox.getButtonCell());
+    private void preserveEditorText(final Runnable itemsChange) {
+        // removing the selected item makes the combo box clear its value, and with it the typed text
+        final TextField editor = this.comboBox.getEditor();
+        final String text = editor.getText();
+        final int caret = editor.getCaretPosition();
+        this.filtering = true;
+        try {
+            itemsChange.run();
+            if (!Objects.equals(text, editor.getText())) {
+                editor.setText(text);
+                editor.positionCaret(caret);
+            }
+        } finally {
+            this.filtering = false;
         }
     }
 
-    private void updatePopupStyle(final ColorPalette palette) {
-        if (this.comboBox.lookup(".list-view") != null) {
-            applyListViewStyle(palette);
-            applyViewportStyle(palette);
-            applyScrollBarStyles(palette);
-            updateAllCells();
+    private void rebuildSearchIndex() {
+        this.searchGeneration.incrementAndGet();
+        if (!this.searchable || this.pager != null) {
+            this.searchIndex = null;
+            return;
+        }
+        if (this.queuedIndex != null && this.queuedIndex == this.searchIndex) {
+            return;
         }
-    }
 
-    private void applyListViewStyle(final ColorPalette palette) {
-        this.comboBox.lookup(".list-view").setStyle(String.format("""
-                        -fx-background-color: %s !important;
-                        -fx-border-color: %s !important;
-                        -fx-border-radius: %.1f;
-                        -fx-background-radius: %.1f;
-                        -fx-padding: 2;
-                        """,
-                palette.getSurfaceHex(),
-                colorWithOpacity(palette.getOnSurface(), HOVER_COLOR_OPACITY),
-                DEFAULT_BORDER_RADIUS,
-                DEFAULT_BORDER_RADIUS
-        ));
+        // a burst of item changes (adding items one by one, say) copies and indexes the list once
+        final CompletableFuture<ComboBoxSearchIndex<T>> future = new CompletableFuture<>();
+        this.searchIndex = future;
+        this.queuedIndex = future;
+        Platform.runLater(() -> buildSearchIndex(future));
     }
 
-    private void applyViewportStyle(final ColorPalette palette) {
-        if (this.comboBox.lookup(".list-view .viewport") != null) {
-            this.comboBox.lookup(".list-view .viewport").setStyle(String.format("""
-                            -fx-background-color: %s !important;
-                            """,
-                    palette.getSurfaceHex()
-            ));
+    private void buildSearchIndex(final CompletableFuture<ComboBoxSearchIndex<T>> future) {
+        if (this.queuedIndex == future) {
+            this.queuedIndex = null;
+        }
+        if (this.searchIndex != future) {
+            return;
         }
-    }
-
-    private void applyScrollBarStyles(final ColorPalette palette) {
-        this.comboBox.lookupAll(".list-view .scroll-bar").forEach(node ->
-                node.setStyle("-fx-background-color: transparent !important;")
-        );
-
-        this.comboBox.lookupAll(".list-view .scroll-bar .track").forEach(node ->
-                node.setStyle("-fx-background-color: transparent !important;")
-        );
-
-        this.comboBox.lookupAll(".list-view .scroll-bar .thumb").forEach(node ->
-                node.setStyle(String.format("""
-                                -fx-background-color: %s !important;
-                                -fx-background-radius: %.1f;
-                                """,
-                        colorWithOpacity(palette.getOnSurface(), 0.3),
-                        SCROLLBAR_THUMB_RADIUS
-                ))
-        );
-    }
 
-    private void updateAllCells() {
-        this.comboBox.lookupAll(".list-cell").forEach(node -> {
-            if (node instanceof final ListCell<?> cell) {
-                updateCellStyle((ListCell<T>) cell);
+        final ArrayList<T> snapshot = new ArrayList<>(this.items);
+        getSearchExecutor().execute(() -> {
+            try {
+                future.complete(ComboBoxSearchIndex.build(snapshot, this.itemConverter::toString,
+                        () -> this.searchIndex != future));
+            } catch (final RuntimeException e) {
+                System.err.printf("Failed to index combo box items: %s%n", e);
+                future.complete(null);
             }
         });
-    }
 
-    private void updateCellStyle(final ListCell<T> cell) {
-        final ColorPalette palette = ThemeManager.getCurrentPalette();
-        final boolean isSelected = cell.isSelected();
-        applyCellStyle(cell, palette, isSelected);
-        setupCellHoverHandlers(cell, palette, isSelected);
+        if (this.filteredItems.getPredicate() != null) {
+            search(this.comboBox.getEditor().getText());
+        }
     }
 
-    private void applyCellStyle(final ListCell<T> cell, final ColorPalette palette, final boolean isSelected) {
-        final String backgroundColor = isSelected ? palette.getPrimaryHex() : "transparent";
-        final String textColor = isSelected ? palette.getOnPrimaryHex() : palette.getOnSurfaceHex();
-
-        cell.setStyle(String.format("""
-                        -fx-background-color: %s !important;
-                        -fx-text-fill: %s !important;
-                        -fx-padding: %.1f %.1f;
-                        """,
-                backgroundColor,
-                textColor,
-                DEFAULT_PADDING,
-                DEFAULT_CELL_PADDING
-        ));
+    private static synchronized ExecutorService getSearchExecutor() {
+        if (searchExecutor == null) {
+            searchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "fxdesktoplib-combo-search");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return searchExecutor;
+    }
+
+    /**
+     * Page fetches wait on the item providers' I/O, so they get their own pool instead of queueing behind
+     * searches and index builds. Its threads exit when idle.
+     */
+    private static synchronized ExecutorService getPagerExecutor() {
+        if (pagerExecutor == null) {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(PAGER_THREADS, PAGER_THREADS,
+                    30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        final Thread thread = new Thread(runnable, "fxdesktoplib-combo-pager");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            pagerExecutor = executor;
+        }
+        return pagerExecutor;
     }
 
-    private void setupCellHoverHandlers(final ListCell<T> cell, final ColorPalette palette, final boolean isSelected) {
-        if (!isSelected) {
-            cell.setOnMouseEntered(e -> applyCellHoverStyle(cell, palette, true));
-            cell.setOnMouseExited(e -> applyCellHoverStyle(cell, palette, false));
-        } else {
-            cell.setOnMouseEntered(null);
-            cell.setOnMouseExited(null);
+    public void setItems(final ObservableList<T> items) {
+        this.items.removeListener(this.itemsListener);
+        this.items = items != null ? items : FXCollections.observableArrayList();
+        this.items.addListener(this.itemsListener);
+        applyItems();
+    }
+
+    /**
+     * Makes the combo box editable and filters the popup to the items whose text contains what is typed,
+     * ignoring case. Matching runs on a background thread against an index of the items, so it stays fast
+     * with hundreds of thousands of items; each keystroke cancels the query of the previous one.
+     */
+    public void setSearchable(final boolean searchable) {
+        if (this.searchable != searchable) {
+            this.searchable = searchable;
+            this.comboBox.setEditable(searchable);
+            applyItems();
         }
     }
 
-    private void applyCellHoverStyle(final ListCell<T> cell, final ColorPalette palette, final boolean isHovered) {
-        final String backgroundColor = isHovered ?
-                colorWithOpacity(palette.getPrimary(), HOVER_COLOR_OPACITY) : "transparent";
-
-        cell.setStyle(String.format("""
-                        -fx-background-color: %s !important;
-                        -fx-text-fill: %s !important;
-                        -fx-padding: %.1f %.1f;
-                        """,
-                backgroundColor,
-                palette.getOnSurfaceHex(),
-                DEFAULT_PADDING,
-                DEFAULT_CELL_PADDING
-        ));
+    public boolean isSearchable() {
+        return this.searchable;
     }
 
-    private void setupThemeListener() {
-        ThemeManager.addListener(palette -> {
-            updateStyle(palette);
-            handleThemeChange(palette);
-        });
+    /**
+     * Backs the combo box with {@code provider} instead of an item list, fetching {@value #DEFAULT_PAGE_SIZE}
+     * items at a time. Pass null to go back to the list given to {@link #setItems(ObservableList)}.
+     */
+    public void setItemProvider(final ItemProvider<T> provider) {
+        setItemProvider(provider, DEFAULT_PAGE_SIZE);
     }
 
-    private void handleThemeChange(final ColorPalette palette) {
-        if (this.comboBox.isShowing()) {
-            final T selectedItem = this.comboBox.getSelectionModel().getSelectedItem();
-            refreshComboBoxSkin();
-            restoreComboBoxState(selectedItem, palette);
-        } else {
-            refreshComboBoxSkin();
+    public void setItemProvider(final ItemProvider<T> provider, final int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.pager = provider != null
+                ? new ComboBoxPager<>(provider, pageSize, PAGE_CACHE_SIZE, getPagerExecutor())
+                : null;
+        applyItems();
+        if (this.pager != null && this.comboBox.isShowing()) {
+            this.pager.start();
         }
     }
 
-    private void refreshComboBoxSkin() {
-        this.comboBox.setSkin(null);
-        this.comboBox.applyCss();
-        this.comboBox.layout();
-        this.comboBox.setCellFactory(listView -> createCell());
-        this.comboBox.setButtonCell(createCell());
-    }
-
-    private void restoreComboBoxState(final T selectedItem, final ColorPalette palette) {
-        this.comboBox.hide();
-        Platform.runLater(() -> {
-            this.comboBox.getSelectionModel().select(selectedItem);
-            this.comboBox.show();
-            updatePopupStyle(palette);
-        });
-    }
-
-    //! should maybe be moved to a utility class
-    private String colorWithOpacity(final Color color, final double opacity) {
-        return String.format("rgba(%d, %d, %d, %.2f)",
-                (int) (color.getRed() * 255),
-                (int) (color.getGreen() * 255),
-                (int) (color.getBlue() * 255),
-                opacity
-        );
+    /** Drops the pages cached from the item provider and fetches the current ones again. */
+    public void refreshItems() {
+        if (this.pager != null) {
+            preserveEditorText(this.pager::refresh);
+        }
     }
 
-    public void setItems(final ObservableList<T> items) {
-        this.comboBox.setItems(items);
+    private void applyItems() {
+        if (this.pager != null) {
+            this.filteredItems = null;
+            this.comboBox.setItems(this.pager.getItems());
+        } else if (this.searchable) {
+            this.filteredItems = new FilteredList<>(this.items);
+            this.comboBox.setItems(this.filteredItems);
+        } else {
+            this.filteredItems = null;
+            this.comboBox.setItems(this.items);
+        }
+        rebuildSearchIndex();
     }
 
     public void setPromptText(final String text) {
@@ -308,10 +364,24 @@ public class UIComboBox<T> extends StackPane {
     }
 
     public void setConverter(final StringConverter<T> converter) {
-        this.comboBox.setConverter(converter);
+        this.converter = converter;
+        // a new converter instance makes the combo box refresh its cells and editor text
+        this.itemConverter = new ItemConverter();
+        this.comboBox.setConverter(this.itemConverter);
+        rebuildSearchIndex();
     }
 
     public ComboBox<T> getComboBox() {
         return this.comboBox;
     }
-}
\ No newline at end of file
+
+    /** Source of the items of a paged combo box; called on a background thread. */
+    @FunctionalInterface
+    public interface ItemProvider<T> {
+        /**
+         * @return up to {@code limit} items matching {@code query} (empty when nothing was typed), starting at
+         * {@code offset}; fewer than {@code limit} items means there are no more
+         */
+        List<T> fetch(int offset, int limit, String query) throws Exception;
+    }
+}
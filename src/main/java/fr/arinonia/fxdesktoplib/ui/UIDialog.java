@@ -1,22 +1,41 @@
 package fr.arinonia.fxdesktoplib.ui;
 
+import fr.arinonia.fxdesktoplib.animation.AnimationScheduler;
+import fr.arinonia.fxdesktoplib.jfr.AnimationStartEvent;
+import fr.arinonia.fxdesktoplib.jfr.StyleApplyEvent;
 import fr.arinonia.fxdesktoplib.theme.ColorPalette;
+import fr.arinonia.fxdesktoplib.theme.NodeThemeListener;
+import fr.arinonia.fxdesktoplib.theme.ThemeChangeListener;
 import fr.arinonia.fxdesktoplib.theme.ThemeManager;
-import javafx.animation.*;
+import fr.arinonia.fxdesktoplib.theme.ThemeStylesheet;
+import javafx.animation.Interpolator;
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.effect.GaussianBlur;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.*;
+import javafx.scene.transform.Scale;
 import javafx.util.Duration;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 public class UIDialog extends StackPane {
     private static final class Constants {
         static final Duration ANIMATION_DURATION = Duration.millis(250);
         static final double MAX_WIDTH = 560;
         static final double MAX_HEIGHT = 400;
         static final double BLUR_RADIUS = 10;
+        static final double BACKDROP_SCALE = 0.25;
+        static final int BACKDROP_BOX_RADIUS = 1;
+        static final int BACKDROP_BLUR_PASSES = 3;
         static final double INITIAL_SCALE = 0.8;
         static final double FINAL_SCALE = 1.0;
         static final Insets HEADER_PADDING = new Insets(24, 24, 0, 24);
@@ -29,7 +48,10 @@ public class UIDialog extends StackPane {
     private final DialogLayout layout;
     private final DialogAnimator animator;
     private final Region overlay;
+    private final ThemeChangeListener themeListener = new NodeThemeListener(this, palette -> updateStyle());
     private Node blurTarget;
+    private BackdropMode backdropMode = BackdropMode.LIVE;
+    private Backdrop backdrop;
     private Runnable onCloseCallback;
 
     private UIDialog() {
@@ -42,12 +64,12 @@ public class UIDialog extends StackPane {
     private void initialize() {
         this.setAlignment(Pos.CENTER);
         this.setVisible(false);
+        ThemeStylesheet.installOnAttach(this);
         this.setManaged(false);
         this.getChildren().addAll(this.overlay, this.layout);
 
         setupOverlayBehavior();
         updateStyle();
-        ThemeManager.addListener(palette -> updateStyle());
     }
 
     private Region createOverlay() {
@@ -67,7 +89,8 @@ public class UIDialog extends StackPane {
     }
 
     private void updateStyle() {
-        final ColorPalette palette = ThemeManager.getCurrentPalette();
+        StyleApplyEvent.record(this);
+        final ColorPalette palette = ThemeManager.getPalette(this);
         this.layout.updateStyle(palette);
     }
 
@@ -79,6 +102,24 @@ public class UIDialog extends StackPane {
         this.animator.playHideAnimation();
     }
 
+    private Backdrop getBackdrop() {
+        if (this.backdrop == null) {
+            this.backdrop = new Backdrop(this);
+        }
+        return this.backdrop;
+    }
+
+    /** How the dialog blurs its blur target while it is open. */
+    public enum BackdropMode {
+        /** A blur effect on the live target, which is rendered and blurred again on every frame. */
+        LIVE,
+        /**
+         * A blurred snapshot of the target, taken once when the dialog opens and shown as a static image; the
+         * target itself is not rendered until the dialog closes.
+         */
+        SNAPSHOT
+    }
+
     private static class DialogLayout extends VBox {
         private final VBox headerContainer;
         private final StackPane contentContainer;
@@ -151,90 +192,214 @@ public class UIDialog extends StackPane {
 
     private static class DialogAnimator {
         private final UIDialog dialog;
-        private final Timeline showAnimation;
-        private final Timeline hideAnimation;
 
         DialogAnimator(final UIDialog dialog) {
             this.dialog = dialog;
-            this.showAnimation = createShowAnimation();
-            this.hideAnimation = createHideAnimation();
         }
 
-        private Timeline createShowAnimation() {
-            final Timeline timeline = new Timeline(
-                    new KeyFrame(Duration.ZERO,
-                            new KeyValue(this.dialog.overlay.opacityProperty(), 0, Interpolator.EASE_BOTH),
-                            new KeyValue(this.dialog.layout.scaleXProperty(), Constants.INITIAL_SCALE, Interpolator.EASE_OUT),
-                            new KeyValue(this.dialog.layout.scaleYProperty(), Constants.INITIAL_SCALE, Interpolator.EASE_OUT),
-                            new KeyValue(this.dialog.layout.opacityProperty(), 0, Interpolator.EASE_BOTH)
-                    ),
-                    new KeyFrame(Constants.ANIMATION_DURATION,
-                            new KeyValue(this.dialog.overlay.opacityProperty(), 1, Interpolator.EASE_BOTH),
-                            new KeyValue(this.dialog.layout.scaleXProperty(), Constants.FINAL_SCALE, Interpolator.EASE_OUT),
-                            new KeyValue(this.dialog.layout.scaleYProperty(), Constants.FINAL_SCALE, Interpolator.EASE_OUT),
-                            new KeyValue(this.dialog.layout.opacityProperty(), 1, Interpolator.EASE_BOTH)
-                    )
-            );
-            return timeline;
+        void playShowAnimation() {
+            if (this.dialog.blurTarget != null && this.dialog.backdropMode == BackdropMode.SNAPSHOT) {
+                this.dialog.getBackdrop().show();
+            } else if (this.dialog.blurTarget != null) {
+                final GaussianBlur blur = new GaussianBlur(0);
+                this.dialog.blurTarget.setEffect(blur);
+                animateBlur(blur, 0, Constants.BLUR_RADIUS);
+            }
+            this.dialog.setVisible(true);
+            this.dialog.setManaged(true);
+            animate(0, 1, Constants.INITIAL_SCALE, Constants.FINAL_SCALE, Interpolator.EASE_OUT, null);
+            AnimationStartEvent.emit(this.dialog, Constants.ANIMATION_DURATION);
         }
 
-        private Timeline createHideAnimation() {
-            final Timeline timeline = new Timeline(
-                    new KeyFrame(Duration.ZERO,
-                            new KeyValue(this.dialog.overlay.opacityProperty(), 1, Interpolator.EASE_BOTH),
-                            new KeyValue(this.dialog.layout.scaleXProperty(), Constants.FINAL_SCALE, Interpolator.EASE_IN),
-                            new KeyValue(this.dialog.layout.scaleYProperty(), Constants.FINAL_SCALE, Interpolator.EASE_IN),
-                            new KeyValue(this.dialog.layout.opacityProperty(), 1, Interpolator.EASE_BOTH)
-                    ),
-                    new KeyFrame(Constants.ANIMATION_DURATION,
-                            new KeyValue(this.dialog.overlay.opacityProperty(), 0, Interpolator.EASE_BOTH),
-                            new KeyValue(this.dialog.layout.scaleXProperty(), Constants.INITIAL_SCALE, Interpolator.EASE_IN),
-                            new KeyValue(this.dialog.layout.scaleYProperty(), Constants.INITIAL_SCALE, Interpolator.EASE_IN),
-                            new KeyValue(this.dialog.layout.opacityProperty(), 0, Interpolator.EASE_BOTH)
-                    )
-            );
-
-            timeline.setOnFinished(e -> {
+        void playHideAnimation() {
+            if (this.dialog.backdrop != null) {
+                this.dialog.backdrop.hide();
+            }
+            if (this.dialog.blurTarget != null && this.dialog.blurTarget.getEffect() instanceof final GaussianBlur blur) {
+                animateBlur(blur, Constants.BLUR_RADIUS, 0);
+            }
+            animate(1, 0, Constants.FINAL_SCALE, Constants.INITIAL_SCALE, Interpolator.EASE_IN, () -> {
                 this.dialog.setVisible(false);
                 this.dialog.setManaged(false);
-                if (this.dialog.blurTarget != null) {
+                if (this.dialog.blurTarget != null && this.dialog.backdropMode == BackdropMode.LIVE) {
                     this.dialog.blurTarget.setEffect(null);
                 }
             });
+            AnimationStartEvent.emit(this.dialog, Constants.ANIMATION_DURATION);
+        }
 
-            return timeline;
+        /** Starting a show while a hide is running (or the reverse) replaces its tweens and drops its onFinished. */
+        private void animate(final double fromOpacity, final double toOpacity, final double fromScale, final double toScale,
+                             final Interpolator scaleInterpolator, final Runnable onFinished) {
+            AnimationScheduler.animate(this.dialog.overlay.opacityProperty(), fromOpacity, toOpacity,
+                    Constants.ANIMATION_DURATION, Interpolator.EASE_BOTH, onFinished);
+            AnimationScheduler.animate(this.dialog.layout.opacityProperty(), fromOpacity, toOpacity,
+                    Constants.ANIMATION_DURATION, Interpolator.EASE_BOTH);
+            AnimationScheduler.animate(this.dialog.layout.scaleXProperty(), fromScale, toScale,
+                    Constants.ANIMATION_DURATION, scaleInterpolator);
+            AnimationScheduler.animate(this.dialog.layout.scaleYProperty(), fromScale, toScale,
+                    Constants.ANIMATION_DURATION, scaleInterpolator);
         }
 
-        void playShowAnimation() {
-            this.hideAnimation.stop();
-            if (this.dialog.blurTarget != null) {
-                final GaussianBlur blur = new GaussianBlur(0);
-                this.dialog.blurTarget.setEffect(blur);
-                animateBlur(blur, 0, Constants.BLUR_RADIUS);
+        private void animateBlur(final GaussianBlur blur, final double fromRadius, final double toRadius) {
+            AnimationScheduler.animate(blur.radiusProperty(), fromRadius, toRadius, Constants.ANIMATION_DURATION,
+                    Interpolator.LINEAR);
+        }
+    }
+
+    /**
+     * Backdrop of {@link BackdropMode#SNAPSHOT}: the blur target is snapshotted once at a quarter of its size,
+     * box-blurred on a background thread and faded in under the overlay as a static image, after which the
+     * target is hidden. The image and pixel buffers are kept for the next show while the target keeps its size.
+     */
+    private static class Backdrop {
+        private static ExecutorService executor;
+
+        private final UIDialog dialog;
+        private final ImageView view = new ImageView();
+        private WritableImage capture;
+        private WritableImage image;
+        private int[] pixels;
+        private int[] scratch;
+        private boolean blurring;
+        private boolean targetHidden;
+        // bumped on every show and hide; a blur that finishes for an older generation is dropped
+        private long generation;
+
+        Backdrop(final UIDialog dialog) {
+            this.dialog = dialog;
+            this.view.setManaged(false);
+            this.view.setSmooth(true);
+            this.view.setOpacity(0);
+            dialog.getChildren().add(0, this.view);
+        }
+
+        void show() {
+            final long requested = ++this.generation;
+            final Node target = this.dialog.blurTarget;
+            if (this.targetHidden) {
+                return;
             }
-            this.dialog.setVisible(true);
-            this.dialog.setManaged(true);
-            this.showAnimation.play();
+
+            // snapshot() draws into a larger image than needed without shrinking it, so only an exact fit is reused
+            final Bounds local = target.getBoundsInLocal();
+            if (this.capture != null && (this.capture.getWidth() != Math.ceil(local.getWidth() * Constants.BACKDROP_SCALE)
+                    || this.capture.getHeight() != Math.ceil(local.getHeight() * Constants.BACKDROP_SCALE))) {
+                this.capture = null;
+            }
+            final SnapshotParameters parameters = new SnapshotParameters();
+            parameters.setTransform(new Scale(Constants.BACKDROP_SCALE, Constants.BACKDROP_SCALE));
+            this.capture = target.snapshot(parameters, this.capture);
+            final int width = (int) this.capture.getWidth();
+            final int height = (int) this.capture.getHeight();
+            if (width == 0 || height == 0) {
+                return;
+            }
+
+            // a blur still running from an earlier show owns the buffers, so this one gets its own
+            if (this.blurring || this.pixels == null || this.pixels.length != width * height) {
+                this.pixels = new int[width * height];
+                this.scratch = new int[width * height];
+            }
+            final int[] pixels = this.pixels;
+            final int[] scratch = this.scratch;
+            this.capture.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(),
+                    pixels, 0, width);
+
+            this.blurring = true;
+            getExecutor().execute(() -> {
+                for (int pass = 0; pass < Constants.BACKDROP_BLUR_PASSES; pass++) {
+                    boxBlur(pixels, scratch, width, height, 1, width);
+                    boxBlur(scratch, pixels, height, width, width, 1);
+                }
+                Platform.runLater(() -> {
+                    if (pixels == this.pixels) {
+                        this.blurring = false;
+                    }
+                    if (this.generation == requested) {
+                        present(pixels, width, height);
+                    }
+                });
+            });
         }
 
-        void playHideAnimation() {
-            this.showAnimation.stop();
-            if (this.dialog.blurTarget != null && this.dialog.blurTarget.getEffect() instanceof GaussianBlur blur) {
-                animateBlur(blur, Constants.BLUR_RADIUS, 0);
+        void hide() {
+            this.generation++;
+            if (this.targetHidden) {
+                this.targetHidden = false;
+                this.dialog.blurTarget.setVisible(true);
             }
-            this.hideAnimation.play();
+            AnimationScheduler.animate(this.view.opacityProperty(), 0, Constants.ANIMATION_DURATION,
+                    Interpolator.LINEAR);
         }
 
-        private void animateBlur(final GaussianBlur blur, final double fromRadius, final double toRadius) {
-            final Timeline blurAnimation = new Timeline(
-                    new KeyFrame(Duration.ZERO,
-                            new KeyValue(blur.radiusProperty(), fromRadius)
-                    ),
-                    new KeyFrame(Constants.ANIMATION_DURATION,
-                            new KeyValue(blur.radiusProperty(), toRadius)
-                    )
-            );
-            blurAnimation.play();
+        private void present(final int[] pixels, final int width, final int height) {
+            if (this.image == null || this.image.getWidth() != width || this.image.getHeight() != height) {
+                this.image = new WritableImage(width, height);
+            }
+            this.image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(),
+                    pixels, 0, width);
+
+            final Node target = this.dialog.blurTarget;
+            final Bounds bounds = this.dialog.sceneToLocal(target.localToScene(target.getBoundsInLocal()));
+            this.view.setImage(this.image);
+            this.view.setFitWidth(bounds.getWidth());
+            this.view.setFitHeight(bounds.getHeight());
+            this.view.relocate(bounds.getMinX(), bounds.getMinY());
+            AnimationScheduler.animate(this.view.opacityProperty(), Double.NaN, 1, Constants.ANIMATION_DURATION,
+                    Interpolator.LINEAR, this::hideTarget);
+        }
+
+        private void hideTarget() {
+            // a target that contains the dialog cannot be hidden without hiding the dialog too
+            for (Node node = this.dialog; node != null; node = node.getParent()) {
+                if (node == this.dialog.blurTarget) {
+                    return;
+                }
+            }
+            this.targetHidden = true;
+            this.dialog.blurTarget.setVisible(false);
+        }
+
+        /**
+         * One box blur pass over {@code lines} lines of {@code length} premultiplied ARGB pixels, {@code step}
+         * apart within a line and {@code lineStride} apart between lines, with edge pixels repeated.
+         */
+        private static void boxBlur(final int[] source, final int[] target, final int length, final int lines,
+                                    final int step, final int lineStride) {
+            final int radius = Constants.BACKDROP_BOX_RADIUS;
+            final int window = radius * 2 + 1;
+            for (int line = 0; line < lines; line++) {
+                final int base = line * lineStride;
+                int a = 0, r = 0, g = 0, b = 0;
+                for (int k = -radius; k <= radius; k++) {
+                    final int pixel = source[base + Math.min(Math.max(k, 0), length - 1) * step];
+                    a += pixel >>> 24;
+                    r += (pixel >> 16) & 0xFF;
+                    g += (pixel >> 8) & 0xFF;
+                    b += pixel & 0xFF;
+                }
+                for (int i = 0; i < length; i++) {
+                    target[base + i * step] = (a / window) << 24 | (r / window) << 16 | (g / window) << 8 | b / window;
+                    final int out = source[base + Math.max(i - radius, 0) * step];
+                    final int in = source[base + Math.min(i + radius + 1, length - 1) * step];
+                    a += (in >>> 24) - (out >>> 24);
+                    r += ((in >> 16) & 0xFF) - ((out >> 16) & 0xFF);
+                    g += ((in >> 8) & 0xFF) - ((out >> 8) & 0xFF);
+                    b += (in & 0xFF) - (out & 0xFF);
+                }
+            }
+        }
+
+        private static synchronized ExecutorService getExecutor() {
+            if (executor == null) {
+                executor = Executors.newSingleThreadExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "fxdesktoplib-dialog-backdrop");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return executor;
         }
     }
 
@@ -270,6 +435,11 @@ public class UIDialog extends StackPane {
             return this;
         }
 
+        public Builder backdropMode(final BackdropMode backdropMode) {
+            this.dialog.backdropMode = backdropMode;
+            return this;
+        }
+
         public Builder onClose(final Runnable callback) {
             this.onCloseCallback = callback;
             return this;
@@ -1,34 +1,13 @@
 package fr.arinonia.fxdesktoplib.ui;
 
-import fr.arinonia.fxdesktoplib.theme.ColorPalette;
-import fr.arinonia.fxdesktoplib.theme.ThemeManager;
+import fr.arinonia.fxdesktoplib.jfr.StyleApplyEvent;
+import fr.arinonia.fxdesktoplib.theme.ThemeStylesheet;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.control.Label;
 import javafx.scene.text.TextAlignment;
 
 public class UILabel extends Label {
-    private static final class Constants {
-        static final double TITLE_SIZE = 24;
-        static final double SUBTITLE_SIZE = 18;
-        static final double HEADING_SIZE = 16;
-        static final double BODY_SIZE = 14;
-        static final double CAPTION_SIZE = 12;
-
-        static final String BOLD_WEIGHT = "bold";
-        static final String SEMIBOLD_WEIGHT = "600";
-        static final String NORMAL_WEIGHT = "normal";
-
-        static final double HIGH_EMPHASIS = 1.0;
-        static final double MEDIUM_EMPHASIS = 0.87;
-        static final double LOW_EMPHASIS = 0.6;
-
-        static final String FONT_FAMILY = "Bahnschrift";
-
-        static final double TITLE_LINE_HEIGHT = 1.4;
-        static final double NORMAL_LINE_HEIGHT = 1.5;
-    }
-
     private final ObjectProperty<TextType> type = new SimpleObjectProperty<>(TextType.BODY);
     private final ObjectProperty<TextEmphasis> emphasis = new SimpleObjectProperty<>(TextEmphasis.MEDIUM);
 
@@ -46,6 +25,7 @@ public class UILabel extends Label {
 
     private void initialize() {
         this.getStyleClass().add("ui-label");
+        ThemeStylesheet.installOnAttach(this);
         setupListeners();
         this.labelStyle.updateStyle();
     }
@@ -53,7 +33,6 @@ public class UILabel extends Label {
     private void setupListeners() {
         this.type.addListener((obs, oldType, newType) -> this.labelStyle.updateStyle());
         this.emphasis.addListener((obs, oldEmphasis, newEmphasis) -> this.labelStyle.updateStyle());
-        ThemeManager.addListener(palette -> this.labelStyle.updateStyle());
     }
 
     private static class LabelStyle {
@@ -64,66 +43,19 @@ public class UILabel extends Label {
         }
 
         void updateStyle() {
-            final ColorPalette palette = ThemeManager.getCurrentPalette();
-
-            final double fontSize = getFontSize();
-            final double opacity = getEmphasisOpacity();
-            final String fontWeight = getFontWeight();
-            final double lineHeight = getLineHeight();
-
-            final String textColor = String.format("#%02X%02X%02X%02X",
-                    (int) (palette.getOnSurface().getRed() * 255),
-                    (int) (palette.getOnSurface().getGreen() * 255),
-                    (int) (palette.getOnSurface().getBlue() * 255),
-                    (int) (opacity * 255));
-
-            final String style = String.format("""
-                    -fx-font-family: '%s';
-                    -fx-text-fill: %s;
-                    -fx-font-size: %.1fpx;
-                    -fx-font-weight: %s;
-                    -fx-line-height: %.1f;
-                    """,
-                    Constants.FONT_FAMILY,
-                    textColor,
-                    fontSize,
-                    fontWeight,
-                    lineHeight
+            for (final TextType type : TextType.values()) {
+                this.label.getStyleClass().remove(type.getStyleClass());
+            }
+            for (final TextEmphasis emphasis : TextEmphasis.values()) {
+                this.label.getStyleClass().remove(emphasis.getStyleClass());
+            }
+            this.label.getStyleClass().addAll(
+                    this.label.getType().getStyleClass(),
+                    this.label.getEmphasis().getStyleClass()
             );
 
-            this.label.setStyle(style);
             setAdditionalProperties();
-        }
-
-        private double getFontSize() {
-            return switch (this.label.getType()) {
-                case TITLE -> Constants.TITLE_SIZE;
-                case SUBTITLE -> Constants.SUBTITLE_SIZE;
-                case HEADING -> Constants.HEADING_SIZE;
-                case BODY -> Constants.BODY_SIZE;
-                case CAPTION -> Constants.CAPTION_SIZE;
-            };
-        }
-
-        private double getEmphasisOpacity() {
-            return switch (this.label.getEmphasis()) {
-                case HIGH -> Constants.HIGH_EMPHASIS;
-                case MEDIUM -> Constants.MEDIUM_EMPHASIS;
-                case LOW -> Constants.LOW_EMPHASIS;
-            };
-        }
-
-        private String getFontWeight() {
-            return switch (this.label.getType()) {
-                case TITLE, HEADING -> Constants.BOLD_WEIGHT;
-                case SUBTITLE -> Constants.SEMIBOLD_WEIGHT;
-                default -> Constants.NORMAL_WEIGHT;
-            };
-        }
-
-        private double getLineHeight() {
-            return this.label.getType() == TextType.TITLE ?
-                    Constants.TITLE_LINE_HEIGHT : Constants.NORMAL_LINE_HEIGHT;
+            StyleApplyEvent.record(this.label);
         }
 
         private void setAdditionalProperties() {
@@ -161,11 +93,37 @@ public class UILabel extends Label {
     }
 
     public enum TextType {
-        TITLE, SUBTITLE, HEADING, BODY, CAPTION
+        TITLE("title"),
+        SUBTITLE("subtitle"),
+        HEADING("heading"),
+        BODY("body"),
+        CAPTION("caption");
+
+        private final String styleClass;
+
+        TextType(final String styleClass) {
+            this.styleClass = styleClass;
+        }
+
+        public String getStyleClass() {
+            return this.styleClass;
+        }
     }
 
     public enum TextEmphasis {
-        HIGH, MEDIUM, LOW
+        HIGH("high-emphasis"),
+        MEDIUM("medium-emphasis"),
+        LOW("low-emphasis");
+
+        private final String styleClass;
+
+        TextEmphasis(final String styleClass) {
+            this.styleClass = styleClass;
+        }
+
+        public String getStyleClass() {
+            return this.styleClass;
+        }
     }
 
     public static Builder builder() {
@@ -1,38 +1,31 @@
 package fr.arinonia.fxdesktoplib.ui;
 
-import fr.arinonia.fxdesktoplib.theme.ColorPalette;
-import fr.arinonia.fxdesktoplib.theme.ThemeManager;
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import fr.arinonia.fxdesktoplib.jfr.AnimationStartEvent;
+import fr.arinonia.fxdesktoplib.theme.ThemeStylesheet;
+import javafx.animation.AnimationTimer;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
-import javafx.scene.control.ScrollBar;
 import javafx.scene.control.ScrollPane;
-import javafx.scene.layout.Region;
 import javafx.util.Duration;
 
 public class UIScrollPane extends ScrollPane {
 
     private static final class StyleConstants {
-        static final class ScrollBar {
-            static final double WIDTH = 8;
-            static final double RADIUS = 4;
-            static final double OPACITY = 0.5;
-            static final double HOVER_OPACITY = 0.8;
-        }
-
         static final class Scroll {
-            static final double SPEED = 0.015;
-            static final Duration DURATION = Duration.millis(200);
+            static final double SPEED = 1.0;
             static final double MIN_DELTA = 0.1;
+            static final double FRICTION_SECONDS = 0.1;
+            static final double STREAM_GAP_SECONDS = 0.1;
+            static final double MIN_EVENT_SECONDS = 1.0 / 240;
+            static final double VELOCITY_SMOOTHING = 0.5;
+            static final double FIRST_FRAME_SECONDS = 1.0 / 60;
+            static final double SETTLE_DISTANCE = 0.5;
+            static final double MIN_VELOCITY = SETTLE_DISTANCE / FRICTION_SECONDS;
+            static final Duration SETTLE_DURATION = Duration.seconds(FRICTION_SECONDS * 5);
         }
     }
 
-    private final ScrollBarManager scrollBarManager;
     private final SmoothScrollManager smoothScrollManager;
-    private final StyleManager styleManager;
 
     public UIScrollPane() {
         this(null);
@@ -40,21 +33,19 @@ public class UIScrollPane extends ScrollPane {
 
     public UIScrollPane(final Node content) {
         super(content);
-        this.scrollBarManager = new ScrollBarManager(this);
-        this.smoothScrollManager = new SmoothScrollManager(this);
-        this.styleManager = new StyleManager(this);
+        this.smoothScrollManager = new SmoothScrollManager();
         initialize();
     }
 
     private void initialize() {
+        this.getStyleClass().add("ui-scroll-pane");
+        ThemeStylesheet.installOnAttach(this);
         this.setFitToWidth(true);
         this.setHbarPolicy(ScrollBarPolicy.AS_NEEDED);
         this.setVbarPolicy(ScrollBarPolicy.AS_NEEDED);
         this.setPadding(new Insets(0));
 
         setupListeners();
-
-        this.styleManager.updateStyle();
     }
 
     private void setupListeners() {
@@ -62,212 +53,163 @@ public class UIScrollPane extends ScrollPane {
             this.smoothScrollManager.handleScroll(event.getDeltaY(), event.getDeltaX());
             event.consume();
         });
-
-        ThemeManager.addListener(palette -> this.styleManager.updateStyle());
-
-        this.skinProperty().addListener((obs, old, newSkin) -> {
-            if (newSkin != null) {
-                this.scrollBarManager.initialize();
-            }
-        });
-
-        this.contentProperty().addListener((obs, old, newContent) -> {
-            if (newContent != null) {
-                this.styleManager.updateStyle();
-            }
-        });
-
-        this.viewportBoundsProperty().addListener((obs, old, newBounds) -> {
-            this.styleManager.updateStyle();
-        });
-
-        this.sceneProperty().addListener((obs, old, newScene) -> {
-            if (newScene != null) {
-                this.styleManager.updateStyle();
-            }
-        });
     }
 
+    /**
+     * Frame-driven momentum scrolling. Each axis has a velocity, in pixels per second, that scroll events feed
+     * and friction decays; one {@link AnimationTimer} integrates it every frame. A single wheel step gives the
+     * axis just enough velocity to coast its delta before stopping, while a fast stream of events is tracked as
+     * a speed, so the content keeps flinging after the stream ends. Handling an event allocates nothing and the
+     * timer only runs while an axis is still moving.
+     */
     private class SmoothScrollManager {
-        private final UIScrollPane scrollPane;
-
-        SmoothScrollManager(final UIScrollPane scrollPane) {
-            this.scrollPane = scrollPane;
+        private final ScrollAxis vertical;
+        private final ScrollAxis horizontal;
+        private final AnimationTimer timer;
+        private boolean running;
+        private long lastFrame;
+
+        SmoothScrollManager() {
+            this.vertical = new ScrollAxis(true);
+            this.horizontal = new ScrollAxis(false);
+            this.timer = new AnimationTimer() {
+                @Override
+                public void handle(final long now) {
+                    onFrame(now);
+                }
+            };
         }
 
         void handleScroll(final double deltaY, final double deltaX) {
-            animateScroll(deltaY, true);
-            animateScroll(deltaX, false);
-        }
-
-        private void animateScroll(final double delta, final boolean vertical) {
-            if (Math.abs(delta) <= StyleConstants.Scroll.MIN_DELTA) return;
-
-            final double scrollDelta = -delta * StyleConstants.Scroll.SPEED;
-            final double currentValue = vertical ? getVvalue() : getHvalue();
-            final double targetValue = Math.min(Math.max(currentValue + scrollDelta, 0), 1);
-
-            final Timeline timeline = new Timeline(
-                    new KeyFrame(Duration.ZERO,
-                            new KeyValue(vertical ? vvalueProperty() : hvalueProperty(), currentValue)),
-                    new KeyFrame(StyleConstants.Scroll.DURATION,
-                            new KeyValue(vertical ? vvalueProperty() : hvalueProperty(),
-                                    targetValue, Interpolator.EASE_BOTH))
-            );
-            timeline.play();
-        }
-    }
-
-    private class ScrollBarManager {
-        private final UIScrollPane scrollPane;
-
-        ScrollBarManager(final UIScrollPane scrollPane) {
-            this.scrollPane = scrollPane;
-        }
-
-        void initialize() {
-            for (final Node node : this.scrollPane.lookupAll(".scroll-bar")) {
-                if (node instanceof final ScrollBar scrollBar) {
-                    setupScrollBar(scrollBar);
-                }
+            final long now = System.nanoTime();
+            final boolean moving = this.vertical.accumulate(-deltaY * StyleConstants.Scroll.SPEED, now)
+                    | this.horizontal.accumulate(-deltaX * StyleConstants.Scroll.SPEED, now);
+            if (moving && !this.running) {
+                this.running = true;
+                this.lastFrame = 0L;
+                this.timer.start();
+                AnimationStartEvent.emit(UIScrollPane.this, StyleConstants.Scroll.SETTLE_DURATION);
             }
         }
 
-        private void setupScrollBar(final ScrollBar scrollBar) {
-            styleScrollBar(scrollBar);
-            hideScrollBarButtons(scrollBar);
-        }
+        private void onFrame(final long now) {
+            final double elapsedSeconds = this.lastFrame == 0L
+                    ? StyleConstants.Scroll.FIRST_FRAME_SECONDS
+                    : (now - this.lastFrame) / 1_000_000_000.0;
+            this.lastFrame = now;
 
-        private void hideScrollBarButtons(final ScrollBar scrollBar) {
-            for (final Node button : scrollBar.lookupAll(".increment-button, .decrement-button")) {
-                button.setStyle("-fx-background-color: transparent;");
-                button.setVisible(false);
-                button.setManaged(false);
+            final boolean moving = this.vertical.step(elapsedSeconds) | this.horizontal.step(elapsedSeconds);
+            if (!moving) {
+                this.running = false;
+                this.timer.stop();
             }
         }
+    }
 
-        private void styleScrollBar(final ScrollBar scrollBar) {
-            final ColorPalette palette = ThemeManager.getCurrentPalette();
-
-            scrollBar.setStyle(createScrollBarStyle(palette));
-
-            styleTrack(scrollBar, palette);
+    private class ScrollAxis {
+        private final boolean vertical;
+        private double position;
+        private double velocity;
+        private double written;
+        private long lastEvent;
+        private boolean active;
+
+        ScrollAxis(final boolean vertical) {
+            this.vertical = vertical;
+        }
+
+        /**
+         * Feeds a scroll of {@code delta} pixels, received at {@code nanos}, into the velocity; returns whether
+         * the axis is moving.
+         */
+        boolean accumulate(final double delta, final long nanos) {
+            if (Math.abs(delta) <= StyleConstants.Scroll.MIN_DELTA) return this.active;
+
+            final double range = getScrollableLength();
+            if (range <= 0) return this.active;
+
+            // the scroll bar, keyboard or code may have moved the value since this axis last wrote it
+            if (!this.active || getValue() != this.written) {
+                this.written = getValue();
+                this.position = toPixels(this.written, range);
+                this.velocity = 0;
+            }
 
-            styleThumb(scrollBar, palette);
+            final double sinceLastEvent = (nanos - this.lastEvent) / 1_000_000_000.0;
+            this.lastEvent = nanos;
+            if (Math.signum(delta) != Math.signum(this.velocity)) {
+                // at rest or reversing: coast exactly delta pixels
+                this.velocity = delta / StyleConstants.Scroll.FRICTION_SECONDS;
+            } else if (sinceLastEvent > StyleConstants.Scroll.STREAM_GAP_SECONDS) {
+                this.velocity += delta / StyleConstants.Scroll.FRICTION_SECONDS;
+            } else {
+                final double sampled = delta / Math.max(sinceLastEvent, StyleConstants.Scroll.MIN_EVENT_SECONDS);
+                this.velocity += (sampled - this.velocity) * StyleConstants.Scroll.VELOCITY_SMOOTHING;
+            }
+            this.active = Math.abs(this.velocity) >= StyleConstants.Scroll.MIN_VELOCITY;
+            return this.active;
         }
 
-        private String createScrollBarStyle(final ColorPalette palette) {
-            return String.format("""
-                -fx-background-color: %s;
-                -fx-pref-width: %fpx;
-                -fx-max-width: %fpx;
-                -fx-pref-height: %fpx;
-                -fx-max-height: %fpx;
-                """,
-                    palette.getSurfaceHex(),
-                    StyleConstants.ScrollBar.WIDTH,
-                    StyleConstants.ScrollBar.WIDTH,
-                    StyleConstants.ScrollBar.WIDTH,
-                    StyleConstants.ScrollBar.WIDTH
-            );
-        }
+        /** Advances the offset by one frame of friction-decayed velocity; returns whether the axis still moves. */
+        boolean step(final double elapsedSeconds) {
+            if (!this.active) return false;
 
-        private void styleTrack(final ScrollBar scrollBar, final ColorPalette palette) {
-            final Region track = (Region) scrollBar.lookup(".track");
-            if (track != null) {
-                track.setStyle(String.format("""
-                    -fx-background-color: %s;
-                    -fx-opacity: 0.1;
-                    -fx-background-radius: %f;
-                    -fx-background-insets: 0;
-                    """,
-                        palette.getSurfaceHex(),
-                        StyleConstants.ScrollBar.RADIUS
-                ));
+            final double range = getScrollableLength();
+            if (range <= 0 || getValue() != this.written) {
+                this.velocity = 0;
+                this.active = false;
+                return false;
             }
-        }
 
-        private void styleThumb(final ScrollBar scrollBar, final ColorPalette palette) {
-            final Region thumb = (Region) scrollBar.lookup(".thumb");
-            if (thumb != null) {
-                setupThumbStyles(thumb, palette);
+            // exact distance covered over the frame by a velocity decaying as exp(-t / friction)
+            final double decay = Math.exp(-elapsedSeconds / StyleConstants.Scroll.FRICTION_SECONDS);
+            this.position += this.velocity * StyleConstants.Scroll.FRICTION_SECONDS * (1 - decay);
+            this.velocity *= decay;
+            if (this.position <= 0 || this.position >= range) {
+                this.position = Math.min(Math.max(this.position, 0), range);
+                this.velocity = 0;
+            }
+            if (Math.abs(this.velocity) < StyleConstants.Scroll.MIN_VELOCITY) {
+                this.velocity = 0;
+                this.active = false;
             }
-        }
-
-        private void setupThumbStyles(final Region thumb, final ColorPalette palette) {
-            final String normalStyle = createThumbStyle(palette, StyleConstants.ScrollBar.OPACITY);
-            final String hoverStyle = createThumbStyle(palette, StyleConstants.ScrollBar.HOVER_OPACITY);
 
-            thumb.setStyle(normalStyle);
-            thumb.setOnMouseEntered(e -> thumb.setStyle(hoverStyle));
-            thumb.setOnMouseExited(e -> thumb.setStyle(normalStyle));
+            this.written = fromPixels(this.position, range);
+            if (this.vertical) {
+                setVvalue(this.written);
+            } else {
+                setHvalue(this.written);
+            }
+            return this.active;
         }
 
-        private String createThumbStyle(final ColorPalette palette, final double opacity) {
-            return String.format("""
-                -fx-background-color: %s !important;
-                -fx-background-radius: %fpx;
-                -fx-opacity: %f;
-                -fx-background-insets: 2;
-                """,
-                    palette.getPrimaryHex(),
-                    StyleConstants.ScrollBar.RADIUS,
-                    opacity
-            );
+        private double getScrollableLength() {
+            final Node content = getContent();
+            if (content == null) return 0;
+            return this.vertical
+                    ? content.getLayoutBounds().getHeight() - getViewportBounds().getHeight()
+                    : content.getLayoutBounds().getWidth() - getViewportBounds().getWidth();
         }
-    }
-
-    private class StyleManager {
-        private final UIScrollPane scrollPane;
 
-        StyleManager(final UIScrollPane scrollPane) {
-            this.scrollPane = scrollPane;
+        private double getValue() {
+            return this.vertical ? getVvalue() : getHvalue();
         }
 
-        void updateStyle() {
-            ColorPalette palette = ThemeManager.getCurrentPalette();
-
-            applyBaseStyle(palette);
-            applyViewportStyle(palette);
-            applyContentStyle(palette);
-            this.scrollPane.scrollBarManager.initialize();
+        private double getMinValue() {
+            return this.vertical ? getVmin() : getHmin();
         }
 
-        private void applyBaseStyle(final ColorPalette palette) {
-            this.scrollPane.setStyle(String.format("""
-                -fx-background-color: %s;
-                -fx-padding: 0;
-                -fx-background-insets: 0;
-                """, palette.getSurfaceHex()));
+        private double getMaxValue() {
+            return this.vertical ? getVmax() : getHmax();
         }
 
-        private void applyViewportStyle(final ColorPalette palette) {
-            final Node viewport = this.scrollPane.lookup(".viewport");
-            if (viewport != null) {
-                viewport.setStyle(String.format("""
-                    -fx-background-color: %s;
-                    -fx-padding: 0;
-                    -fx-background-insets: 0;
-                    """, palette.getSurfaceHex()));
-            }
+        private double toPixels(final double value, final double range) {
+            final double span = getMaxValue() - getMinValue();
+            return span <= 0 ? 0 : (value - getMinValue()) / span * range;
         }
 
-        private void applyContentStyle(final ColorPalette palette) {
-            final String[] selectors = {
-                    ".viewport > *",
-                    ".scroll-pane > .viewport > *",
-                    ".scroll-pane > .viewport > .content",
-                    ".viewport .content"
-            };
-
-            for (final String selector : selectors) {
-                final Node node = scrollPane.lookup(selector);
-                if (node != null) {
-                    node.setStyle(String.format("""
-                        -fx-background-color: %s;
-                        """, palette.getBackgroundHex()));
-                }
-            }
+        private double fromPixels(final double pixels, final double range) {
+            return getMinValue() + pixels / range * (getMaxValue() - getMinValue());
         }
     }
 
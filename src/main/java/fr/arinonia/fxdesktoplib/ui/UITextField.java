@@ -1,17 +1,21 @@
 package fr.arinonia.fxdesktoplib.ui;
 
+import fr.arinonia.fxdesktoplib.animation.AnimationScheduler;
+import fr.arinonia.fxdesktoplib.jfr.AnimationStartEvent;
+import fr.arinonia.fxdesktoplib.jfr.StyleApplyEvent;
 import fr.arinonia.fxdesktoplib.theme.ColorPalette;
+import fr.arinonia.fxdesktoplib.theme.ColorRole;
+import fr.arinonia.fxdesktoplib.theme.NodeThemeListener;
+import fr.arinonia.fxdesktoplib.theme.ThemeChangeListener;
 import fr.arinonia.fxdesktoplib.theme.ThemeManager;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import fr.arinonia.fxdesktoplib.theme.ThemeStylesheet;
+import javafx.animation.Interpolator;
 import javafx.beans.property.*;
 import javafx.geometry.Pos;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
-import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
 
@@ -34,12 +38,13 @@ public class UITextField extends VBox {
         static final Duration ERROR_ANIMATION_DURATION = Duration.millis(500);
         static final double ERROR_SHAKE_DISTANCE = 10;
         static final int ERROR_SHAKE_CYCLES = 5;
+        static final Duration ERROR_SHAKE_HALF_CYCLE = ERROR_ANIMATION_DURATION.divide(ERROR_SHAKE_CYCLES * 2);
 
         static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
         static final Pattern NUMBER_PATTERN = Pattern.compile("\\d*");
 
-        static final double BORDER_OPACITY = 0.2;
-        static final double PLACEHOLDER_OPACITY = 0.6;
+        static final int BORDER_OPACITY = 20;
+        static final int PLACEHOLDER_OPACITY = 60;
         static final double DISABLED_OPACITY = 0.6;
 
     }
@@ -58,6 +63,7 @@ public class UITextField extends VBox {
     private final InputStyle inputStyle;
     private final ValidationHandler validationHandler;
     private final ErrorAnimator errorAnimator;
+    private final ThemeChangeListener themeListener;
 
     public UITextField() {
         this("");
@@ -72,6 +78,7 @@ public class UITextField extends VBox {
         this.inputStyle = new InputStyle(this);
         this.validationHandler = new ValidationHandler(this);
         this.errorAnimator = new ErrorAnimator(this);
+        this.themeListener = new NodeThemeListener(this, palette -> this.inputStyle.updateStyle());
 
         setPlaceholder(placeholder);
         initialize();
@@ -79,6 +86,7 @@ public class UITextField extends VBox {
 
     private void initialize() {
         this.getStyleClass().add("ui-text-field");
+        ThemeStylesheet.installOnAttach(this);
         this.setMaxWidth(Constants.MAX_WIDTH);
         this.setSpacing(Constants.SPACING);
 
@@ -122,8 +130,6 @@ public class UITextField extends VBox {
                 this.validationHandler.validateInput(this.textField.getText());
             }
         });
-
-        ThemeManager.addListener(palette -> this.inputStyle.updateStyle());
     }
 
     private void setupEditableState() {
@@ -151,7 +157,8 @@ public class UITextField extends VBox {
         }
 
         void updateStyle() {
-            final ColorPalette palette = ThemeManager.getCurrentPalette();
+            StyleApplyEvent.record(this.parent);
+            final ColorPalette palette = ThemeManager.getPalette(this.parent);
             final boolean isEditableNow = editable.get();
 
             final String textFieldStyle = String.format("""
@@ -166,8 +173,8 @@ public class UITextField extends VBox {
                 """,
                     palette.getSurfaceHex(),
                     palette.getOnSurfaceHex(),
-                    colorWithOpacity(palette.getOnSurface(), Constants.PLACEHOLDER_OPACITY),
-                    isValid.get() ? colorWithOpacity(palette.getOnSurface(), Constants.BORDER_OPACITY)
+                    palette.getRgba(ColorRole.ON_SURFACE, Constants.PLACEHOLDER_OPACITY),
+                    isValid.get() ? palette.getRgba(ColorRole.ON_SURFACE, Constants.BORDER_OPACITY)
                             : palette.getErrorHex(),
                     Constants.BORDER_RADIUS,
                     Constants.BORDER_RADIUS,
@@ -182,7 +189,7 @@ public class UITextField extends VBox {
                 -fx-fill: %s;
                 -fx-font-size: %fpx;
                 """,
-                    colorWithOpacity(palette.getOnSurface(), Constants.PLACEHOLDER_OPACITY),
+                    palette.getRgba(ColorRole.ON_SURFACE, Constants.PLACEHOLDER_OPACITY),
                     Constants.PLACEHOLDER_FONT_SIZE
             );
             placeholder.setStyle(placeholderStyle);
@@ -223,44 +230,26 @@ public class UITextField extends VBox {
 
     private class ErrorAnimator {
         private final UITextField parent;
-        private final Timeline errorAnimation;
 
         ErrorAnimator(final UITextField parent) {
             this.parent = parent;
-            this.errorAnimation = new Timeline();
-            setupErrorAnimation();
-        }
-
-        private void setupErrorAnimation() {
-            final double cycleTime = Constants.ERROR_ANIMATION_DURATION.toMillis() / Constants.ERROR_SHAKE_CYCLES;
-
-            for (int i = 0; i < Constants.ERROR_SHAKE_CYCLES; i++) {
-                final double startTime = i * cycleTime;
-
-                this.errorAnimation.getKeyFrames().addAll(
-                        new KeyFrame(Duration.millis(startTime),
-                                new KeyValue(textFieldContainer.translateXProperty(), 0)),
-                        new KeyFrame(Duration.millis(startTime + cycleTime / 2),
-                                new KeyValue(textFieldContainer.translateXProperty(),
-                                        i % 2 == 0 ? Constants.ERROR_SHAKE_DISTANCE : -Constants.ERROR_SHAKE_DISTANCE)),
-                        new KeyFrame(Duration.millis(startTime + cycleTime),
-                                new KeyValue(textFieldContainer.translateXProperty(), 0))
-                );
-            }
         }
 
         void playErrorAnimation() {
-            this.errorAnimation.stop();
-            this.errorAnimation.play();
+            shake(0);
+            AnimationStartEvent.emit(this.parent, Constants.ERROR_ANIMATION_DURATION);
         }
-    }
 
-    private static String colorWithOpacity(final Color color, final double opacity) {
-        return String.format("rgba(%d, %d, %d, %.2f)",
-                (int) (color.getRed() * 255),
-                (int) (color.getGreen() * 255),
-                (int) (color.getBlue() * 255),
-                opacity);
+        /** Each cycle moves the field out to one side and back, alternating sides. */
+        private void shake(final int cycle) {
+            if (cycle == Constants.ERROR_SHAKE_CYCLES) {
+                return;
+            }
+            final double offset = cycle % 2 == 0 ? Constants.ERROR_SHAKE_DISTANCE : -Constants.ERROR_SHAKE_DISTANCE;
+            AnimationScheduler.animate(textFieldContainer.translateXProperty(), 0, offset, Constants.ERROR_SHAKE_HALF_CYCLE, Interpolator.LINEAR,
+                    () -> AnimationScheduler.animate(textFieldContainer.translateXProperty(), offset, 0, Constants.ERROR_SHAKE_HALF_CYCLE,
+                            Interpolator.LINEAR, () -> shake(cycle + 1)));
+        }
     }
 
     public void setPlaceholder(final String text) {
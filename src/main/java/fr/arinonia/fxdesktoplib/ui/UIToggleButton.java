@@ -1,10 +1,15 @@
 package fr.arinonia.fxdesktoplib.ui;
 
+import fr.arinonia.fxdesktoplib.animation.AnimationScheduler;
+import fr.arinonia.fxdesktoplib.jfr.AnimationStartEvent;
+import fr.arinonia.fxdesktoplib.jfr.StyleApplyEvent;
 import fr.arinonia.fxdesktoplib.theme.ColorPalette;
+import fr.arinonia.fxdesktoplib.theme.ColorRole;
+import fr.arinonia.fxdesktoplib.theme.NodeThemeListener;
+import fr.arinonia.fxdesktoplib.theme.ThemeChangeListener;
 import fr.arinonia.fxdesktoplib.theme.ThemeManager;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import fr.arinonia.fxdesktoplib.theme.ThemeStylesheet;
+import javafx.animation.Interpolator;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.css.PseudoClass;
@@ -30,6 +35,9 @@ public class UIToggleButton extends StackPane {
 
         static final double RIPPLE_OPACITY = 0.12;
         static final double HOVER_OPACITY = 0.08;
+        static final int DISABLED_FILL_OPACITY = 12;
+        static final int DISABLED_TEXT_OPACITY = 38;
+        static final int BORDER_OPACITY = 23;
 
         static final double FONT_SIZE = 14;
         static final String FONT_FAMILY = "Bahnschrift";
@@ -41,6 +49,7 @@ public class UIToggleButton extends StackPane {
     private final Label label;
     private final Region rippleOverlay;
     private final Region hoverOverlay;
+    private final ThemeChangeListener themeListener = new NodeThemeListener(this, palette -> updateStyle());
 
     private static final PseudoClass SELECTED_PSEUDO_CLASS = PseudoClass.getPseudoClass("selected");
     private static final PseudoClass DISABLED_PSEUDO_CLASS = PseudoClass.getPseudoClass("disabled");
@@ -63,6 +72,7 @@ public class UIToggleButton extends StackPane {
 
     private void initialize() {
         this.getStyleClass().add("ui-toggle-button");
+        ThemeStylesheet.installOnAttach(this);
         setupComponents();
         setupListeners();
         updateStyle();
@@ -119,61 +129,38 @@ public class UIToggleButton extends StackPane {
                 this.selected.set(!this.selected.get());
             }
         });
-
-        ThemeManager.addListener(palette -> updateStyle());
     }
 
     private void playRippleAnimation() {
-        final Timeline timeline = new Timeline();
-        timeline.getKeyFrames().addAll(
-                new KeyFrame(Duration.ZERO,
-                        new KeyValue(this.rippleOverlay.opacityProperty(), 0),
-                        new KeyValue(this.rippleOverlay.scaleXProperty(), 0.6),
-                        new KeyValue(this.rippleOverlay.scaleYProperty(), 0.6)
-                ),
-                new KeyFrame(Constants.RIPPLE_DURATION.multiply(0.3),
-                        new KeyValue(this.rippleOverlay.opacityProperty(), Constants.RIPPLE_OPACITY)
-                ),
-                new KeyFrame(Constants.RIPPLE_DURATION,
-                        new KeyValue(this.rippleOverlay.opacityProperty(), 0),
-                        new KeyValue(this.rippleOverlay.scaleXProperty(), 1),
-                        new KeyValue(this.rippleOverlay.scaleYProperty(), 1)
-                )
-        );
-        timeline.play();
+        final Duration fadeIn = Constants.RIPPLE_DURATION.multiply(0.3);
+        final Duration fadeOut = Constants.RIPPLE_DURATION.subtract(fadeIn);
+        AnimationScheduler.animate(this.rippleOverlay.scaleXProperty(), 0.6, 1, Constants.RIPPLE_DURATION, Interpolator.LINEAR);
+        AnimationScheduler.animate(this.rippleOverlay.scaleYProperty(), 0.6, 1, Constants.RIPPLE_DURATION, Interpolator.LINEAR);
+        AnimationScheduler.animate(this.rippleOverlay.opacityProperty(), 0, Constants.RIPPLE_OPACITY, fadeIn, Interpolator.LINEAR,
+                () -> AnimationScheduler.animate(this.rippleOverlay.opacityProperty(), 0, fadeOut));
+        AnimationStartEvent.emit(this, Constants.RIPPLE_DURATION);
     }
 
     private void playHoverAnimation(final boolean hovering) {
-        final Timeline timeline = new Timeline();
-        timeline.getKeyFrames().add(
-                new KeyFrame(Constants.ANIMATION_DURATION,
-                        new KeyValue(this.hoverOverlay.opacityProperty(),
-                                hovering ? Constants.HOVER_OPACITY : 0)
-                )
-        );
-        timeline.play();
+        AnimationScheduler.animate(this.hoverOverlay.opacityProperty(),
+                hovering ? Constants.HOVER_OPACITY : 0, Constants.ANIMATION_DURATION);
+        AnimationStartEvent.emit(this, Constants.ANIMATION_DURATION);
     }
 
     private void updateStyle() {
-        final ColorPalette palette = ThemeManager.getCurrentPalette();
+        StyleApplyEvent.record(this);
+        final ColorPalette palette = ThemeManager.getPalette(this);
 
         String backgroundColor;
         String textColor;
 
         if (this.disabled.get()) {
             if (this.selected.get()) {
-                backgroundColor = String.format("rgba(%d, %d, %d, 0.12)",
-                        (int) (palette.getPrimary().getRed() * 255),
-                        (int) (palette.getPrimary().getGreen() * 255),
-                        (int) (palette.getPrimary().getBlue() * 255));
+                backgroundColor = palette.getRgba(ColorRole.PRIMARY, Constants.DISABLED_FILL_OPACITY);
             } else {
                 backgroundColor = "transparent";
             }
-            textColor = String.format("rgba(%d, %d, %d, %.2f)",
-                    (int) (palette.getOnSurface().getRed() * 255),
-                    (int) (palette.getOnSurface().getGreen() * 255),
-                    (int) (palette.getOnSurface().getBlue() * 255),
-                    0.38);
+            textColor = palette.getRgba(ColorRole.ON_SURFACE, Constants.DISABLED_TEXT_OPACITY);
         } else if (this.selected.get()) {
             backgroundColor = palette.getPrimaryHex();
             textColor = palette.getOnPrimaryHex();
@@ -196,23 +183,11 @@ public class UIToggleButton extends StackPane {
 
         String borderColor;
         if (this.disabled.get()) {
-            if (this.selected.get()) {
-                borderColor = String.format("rgba(%d, %d, %d, 0.12)",
-                        (int) (palette.getPrimary().getRed() * 255),
-                        (int) (palette.getPrimary().getGreen() * 255),
-                        (int) (palette.getPrimary().getBlue() * 255));
-            } else {
-                borderColor = String.format("rgba(%d, %d, %d, 0.12)",
-                        (int) (palette.getOnSurface().getRed() * 255),
-                        (int) (palette.getOnSurface().getGreen() * 255),
-                        (int) (palette.getOnSurface().getBlue() * 255));
-            }
+            borderColor = palette.getRgba(this.selected.get() ? ColorRole.PRIMARY : ColorRole.ON_SURFACE,
+                    Constants.DISABLED_FILL_OPACITY);
         } else {
             borderColor = this.selected.get() ? palette.getPrimaryHex() :
-                    String.format("rgba(%d, %d, %d, 0.23)",
-                            (int) (palette.getOnSurface().getRed() * 255),
-                            (int) (palette.getOnSurface().getGreen() * 255),
-                            (int) (palette.getOnSurface().getBlue() * 255));
+                    palette.getRgba(ColorRole.ON_SURFACE, Constants.BORDER_OPACITY);
         }
 
         this.setStyle(String.format("""
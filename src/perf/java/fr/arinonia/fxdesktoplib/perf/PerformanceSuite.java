@@ -0,0 +1,289 @@
+package fr.arinonia.fxdesktoplib.perf;
+
+import fr.arinonia.fxdesktoplib.core.FrameMonitor;
+import fr.arinonia.fxdesktoplib.core.UIConfiguration;
+import fr.arinonia.fxdesktoplib.core.UIManager;
+import fr.arinonia.fxdesktoplib.panel.IPanel;
+import fr.arinonia.fxdesktoplib.ui.UICard;
+import fr.arinonia.fxdesktoplib.ui.UIDialog;
+import fr.arinonia.fxdesktoplib.ui.UILabel;
+import fr.arinonia.fxdesktoplib.ui.UIScrollPane;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.PickResult;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Rendering regression suite, run by the {@code perfTest} Gradle task on the headless Monocle platform with
+ * the software pipeline. Each scenario renders real frames; its result is compared with the threshold of the
+ * same name and the process exits with status 1 if any scenario regressed or has no threshold. With the
+ * {@code perf.calibrate} system property set to a file, the results are written there as thresholds instead.
+ */
+public final class PerformanceSuite {
+    private static final long SCENARIO_MILLIS = 3_000L;
+    private static final int CARD_COUNT = 500;
+    private static final double CALIBRATION_HEADROOM = 1.5;
+
+    private Stage stage;
+    private UIManager uiManager;
+
+    private PerformanceSuite() {}
+
+    public static void main(final String[] args) throws Exception {
+        final Properties thresholds = loadThresholds();
+        final CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        Platform.setImplicitExit(false);
+        started.await();
+
+        final PerformanceSuite suite = new PerformanceSuite();
+        final Map<String, Double> results = new LinkedHashMap<>();
+        results.put("time-to-first-frame", suite.timeToFirstFrame());
+        results.put("scroll.frame-p95", suite.smoothScrolling());
+        results.put("dialog.frame-p95", suite.dialogWithBlur(UIDialog.BackdropMode.LIVE));
+        results.put("dialog-snapshot.frame-p95", suite.dialogWithBlur(UIDialog.BackdropMode.SNAPSHOT));
+        results.put("card-hover.frame-p95", suite.cardHover());
+
+        final String calibrate = System.getProperty("perf.calibrate");
+        if (calibrate != null) {
+            writeThresholds(Path.of(calibrate), results);
+            Platform.exit();
+            System.exit(0);
+        }
+
+        boolean regressed = false;
+        for (final Map.Entry<String, Double> result : results.entrySet()) {
+            final String configured = thresholds.getProperty(result.getKey());
+            if (configured == null) {
+                regressed = true;
+                System.out.printf(Locale.ROOT, "%-26s %9.2f ms  (no threshold)  MISSING THRESHOLD%n",
+                        result.getKey(), result.getValue());
+                continue;
+            }
+            final double threshold = Double.parseDouble(configured);
+            final boolean failed = result.getValue() > threshold;
+            regressed |= failed;
+            System.out.printf(Locale.ROOT, "%-26s %9.2f ms  (threshold %.2f ms)%s%n",
+                    result.getKey(), result.getValue(), threshold, failed ? "  REGRESSION" : "");
+        }
+
+        Platform.exit();
+        System.exit(regressed ? 1 : 0);
+    }
+
+    /**
+     * Milliseconds from creating the stage to the start of the second pulse after it is shown. An animation
+     * timer runs at the start of a pulse, so its second call is the first point at which the pulse that
+     * produced the first frame is known to be over.
+     */
+    private double timeToFirstFrame() throws Exception {
+        final long start = System.nanoTime();
+        final CountDownLatch rendered = new CountDownLatch(1);
+        onFx(() -> {
+            this.stage = new Stage();
+            this.uiManager = new UIManager(this.stage, new UIConfiguration().setTitle("Performance"));
+            this.uiManager.addPanel(CardsPanel.class, CardsPanel::new);
+            this.uiManager.showPanel(CardsPanel.class);
+            this.stage.show();
+            new AnimationTimer() {
+                private int pulses;
+
+                @Override
+                public void handle(final long now) {
+                    if (++this.pulses == 2) {
+                        stop();
+                        rendered.countDown();
+                    }
+                }
+            }.start();
+            return null;
+        });
+        rendered.await();
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private double smoothScrolling() throws Exception {
+        final UIScrollPane scrollPane = onFx(() -> {
+            final VBox content = new VBox(8);
+            for (int i = 0; i < CARD_COUNT; i++) {
+                content.getChildren().add(new UILabel("Row " + i));
+            }
+            final UIScrollPane pane = new UIScrollPane(content);
+            showRoot(pane);
+            return pane;
+        });
+
+        return measureFrames(step -> {
+            final double delta = (step / 20) % 2 == 0 ? -40 : 40;
+            Event.fireEvent(scrollPane, new ScrollEvent(ScrollEvent.SCROLL, 0, 0, 0, 0,
+                    false, false, false, false, false, false, 0, delta, 0, delta,
+                    ScrollEvent.HorizontalTextScrollUnits.NONE, 0, ScrollEvent.VerticalTextScrollUnits.NONE, 0, 0, null));
+        }, 16);
+    }
+
+    private double dialogWithBlur(final UIDialog.BackdropMode backdropMode) throws Exception {
+        final UIDialog dialog = onFx(() -> {
+            final CardsPanel background = new CardsPanel();
+            background.init(this.uiManager);
+            final UIDialog created = UIDialog.builder()
+                    .title("Performance")
+                    .content(new UILabel("Dialog content"))
+                    .blurTarget(background.getLayout())
+                    .backdropMode(backdropMode)
+                    .build();
+            showRoot(new StackPane(background.getLayout(), created));
+            return created;
+        });
+
+        return measureFrames(step -> {
+            if (step % 2 == 0) {
+                dialog.show();
+            } else {
+                dialog.hide();
+            }
+        }, 400);
+    }
+
+    private double cardHover() throws Exception {
+        final List<UICard> cards = onFx(() -> {
+            final CardsPanel panel = new CardsPanel();
+            panel.init(this.uiManager);
+            showRoot(panel.getLayout());
+            return panel.getCards();
+        });
+
+        return measureFrames(step -> {
+            final UICard card = cards.get(step % cards.size());
+            Event.fireEvent(card, mouseEvent(MouseEvent.MOUSE_ENTERED));
+            Event.fireEvent(cards.get((step + cards.size() - 10) % cards.size()), mouseEvent(MouseEvent.MOUSE_EXITED));
+        }, 8);
+    }
+
+    /** Runs {@code action} every {@code periodMillis} for the scenario duration and returns the p95 frame time. */
+    private double measureFrames(final Step action, final long periodMillis) throws Exception {
+        final FrameMonitor monitor = this.uiManager.getFrameMonitor();
+        onFx(() -> {
+            monitor.reset();
+            monitor.start();
+            return null;
+        });
+
+        final long end = System.currentTimeMillis() + SCENARIO_MILLIS;
+        for (int step = 0; System.currentTimeMillis() < end; step++) {
+            final int current = step;
+            onFx(() -> {
+                action.run(current);
+                return null;
+            });
+            Thread.sleep(periodMillis);
+        }
+
+        return onFx(() -> {
+            monitor.stop();
+            return monitor.getFrameTime(95);
+        });
+    }
+
+    private void showRoot(final Region root) {
+        this.uiManager.getScene().setRoot(root);
+    }
+
+    private static MouseEvent mouseEvent(final EventType<MouseEvent> type) {
+        return new MouseEvent(type, 0, 0, 0, 0, MouseButton.NONE, 0,
+                false, false, false, false, false, false, false, false, false, false, new PickResult(null, 0, 0));
+    }
+
+    private static <T> T onFx(final Callable<T> task) throws Exception {
+        final FutureTask<T> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        return future.get();
+    }
+
+    private static Properties loadThresholds() throws IOException {
+        final Properties thresholds = new Properties();
+        try (final InputStream in = PerformanceSuite.class.getResourceAsStream("thresholds.properties")) {
+            thresholds.load(in);
+        }
+        final String override = System.getProperty("perf.thresholds");
+        if (override != null) {
+            try (final InputStream in = Files.newInputStream(Path.of(override))) {
+                thresholds.load(in);
+            }
+        }
+        return thresholds;
+    }
+
+    /** Writes each result plus {@value #CALIBRATION_HEADROOM}x headroom, headed by the machine it ran on. */
+    private static void writeThresholds(final Path file, final Map<String, Double> results) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        lines.add("# Regression thresholds for the perfTest task, in milliseconds.");
+        lines.add(String.format(Locale.ROOT, "# Calibrated on %s: %s %s (%s), %d CPUs, %s %s.",
+                LocalDate.now(), System.getProperty("os.name"), System.getProperty("os.version"),
+                System.getProperty("os.arch"), Runtime.getRuntime().availableProcessors(),
+                System.getProperty("java.vm.name"), System.getProperty("java.runtime.version")));
+        lines.add(String.format(Locale.ROOT, "# Each value is the measured result times %.1f.", CALIBRATION_HEADROOM));
+        for (final Map.Entry<String, Double> result : results.entrySet()) {
+            lines.add(String.format(Locale.ROOT, "%s=%.0f", result.getKey(),
+                    Math.ceil(result.getValue() * CALIBRATION_HEADROOM)));
+            System.out.printf(Locale.ROOT, "%-26s %9.2f ms%n", result.getKey(), result.getValue());
+        }
+        Files.write(file, lines);
+        System.out.println("Thresholds written to " + file);
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run(final int step);
+    }
+
+    public static class CardsPanel implements IPanel {
+        private final FlowPane layout = new FlowPane(8, 8);
+        private final List<UICard> cards = new ArrayList<>();
+
+        @Override
+        public Region getLayout() {
+            return this.layout;
+        }
+
+        @Override
+        public void init(final UIManager uiManager) {
+            for (int i = 0; i < CARD_COUNT; i++) {
+                final UICard card = UICard.builder()
+                        .hoverable(true)
+                        .elevation(2)
+                        .children(new UILabel("Card " + i))
+                        .build();
+                this.cards.add(card);
+            }
+            this.layout.getChildren().addAll(this.cards);
+        }
+
+        List<UICard> getCards() {
+            return this.cards;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package fr.arinonia.fxdesktoplib.theme;
+
+import fr.arinonia.fxdesktoplib.ui.UICard;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ThemeListenerRegistryTest {
+    private static final int COMPONENTS = 100;
+    private static final int GC_ATTEMPTS = 50;
+
+    @Test
+    void discardedComponentsAreUnregistered() throws InterruptedException {
+        final int baseline = ThemeManager.getListenerCount();
+        List<UICard> cards = createCards();
+        assertEquals(baseline + COMPONENTS, ThemeManager.getListenerCount());
+
+        cards = null;
+        awaitListenerCount(baseline);
+        assertEquals(baseline, ThemeManager.getListenerCount());
+    }
+
+    @Test
+    void reachableComponentsStayRegistered() throws InterruptedException {
+        final int baseline = ThemeManager.getListenerCount();
+        final List<UICard> cards = createCards();
+
+        awaitListenerCount(baseline);
+        assertEquals(baseline + COMPONENTS, ThemeManager.getListenerCount());
+        assertEquals(COMPONENTS, cards.size());
+    }
+
+    private static List<UICard> createCards() {
+        final List<UICard> cards = new ArrayList<>(COMPONENTS);
+        for (int i = 0; i < COMPONENTS; i++) {
+            cards.add(new UICard());
+        }
+        return cards;
+    }
+
+    /** Collects garbage until the global scope holds {@code expected} listeners or the attempts run out. */
+    private static void awaitListenerCount(final int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < GC_ATTEMPTS && ThemeManager.getListenerCount() != expected; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+    }
+}